@@ -0,0 +1,80 @@
+package com.mygdx.othello.bench;
+
+import com.mygdx.othello.models.Board;
+import com.mygdx.othello.models.Cell;
+import com.mygdx.othello.models.GameData;
+import com.mygdx.othello.models.MoveList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the Board operations used by the game at each move, on a midgame position
+ * The 8x8 board uses the bitboard engine, the other sizes the multi-word one
+ * None of them modifies the position, playing a move is measured by MoveBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoardBenchmark {
+
+    @Param({"6", "8", "10", "16", "32"})
+    public int boardSize;
+
+    /** Position measured, never modified */
+    private Board board;
+
+    /** Save of the position, used to build a fresh copy */
+    private GameData gameData;
+
+    /** Reusable list of the legal moves */
+    private MoveList moveList;
+
+    @Setup
+    public void setUp() {
+        board = Positions.midgame(boardSize);
+        gameData = Positions.save(board);
+        moveList = new MoveList(boardSize);
+    }
+
+    @Benchmark
+    public Map<Cell, ArrayList<Cell>> getLegalMoves() {
+        return board.getLegalMoves(board.getPlayerTurn());
+    }
+
+    @Benchmark
+    public int generateMoves() {
+        return board.generateMoves(board.getPlayerTurn(), moveList);
+    }
+
+    @Benchmark
+    public int updateScore() {
+        board.updateScore();
+        return board.getScore(1);
+    }
+
+    @Benchmark
+    public ArrayList<Cell> getActivePlayerCells() {
+        return board.getActivePlayerCells(board.getPlayerTurn());
+    }
+
+    @Benchmark
+    public Board loadGameData() {
+        return new Board(gameData);
+    }
+
+    @Benchmark
+    public Board copy() {
+        return new Board(board);
+    }
+}
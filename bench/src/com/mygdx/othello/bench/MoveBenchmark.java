@@ -0,0 +1,53 @@
+package com.mygdx.othello.bench;
+
+import com.mygdx.othello.models.Board;
+import com.mygdx.othello.models.MoveList;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of playing a move on the midgame position of BoardBenchmark
+ * The move is undone in the same call, so the position is the same at each call and no
+ * setup has to run between two calls
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoveBenchmark {
+
+    @Param({"6", "8", "10", "16", "32"})
+    public int boardSize;
+
+    /** Position measured, restored by unmakeMove after each move */
+    private Board board;
+
+    /** Move played, the first legal move of the position */
+    private int pos;
+
+    @Setup
+    public void setUp() {
+        board = Positions.midgame(boardSize);
+        MoveList moves = new MoveList(boardSize);
+        if (board.generateMoves(board.getPlayerTurn(), moves) == 0) {
+            throw new IllegalStateException("No legal move on the " + boardSize + " board");
+        }
+        pos = moves.getPos(0);
+    }
+
+    @Benchmark
+    public int makeUnmakeMove() {
+        board.makeMove(pos);
+        int score = board.getScore(1);
+        board.unmakeMove();
+        return score;
+    }
+}
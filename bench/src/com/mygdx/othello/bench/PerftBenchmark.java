@@ -0,0 +1,43 @@
+package com.mygdx.othello.bench;
+
+import com.mygdx.othello.models.Perft;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the leaves of the game tree at a fixed depth (perft) from the standard openings,
+ * with makeMove/unmakeMove. Measures the move generator and the make/unmake cost together
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PerftBenchmark {
+
+    @Param({"start", "perpendicular", "diagonal", "parallel"})
+    public String opening;
+
+    @Param({"4", "6"})
+    public int depth;
+
+    /** Counter walking the position, restored by unmakeMove after each move */
+    private Perft perft;
+
+    @Setup
+    public void setUp() {
+        perft = new Perft(Positions.opening(opening));
+    }
+
+    @Benchmark
+    public long perft() {
+        return perft.perft(depth);
+    }
+}
@@ -0,0 +1,101 @@
+package com.mygdx.othello.bench;
+
+import com.mygdx.othello.models.Board;
+import com.mygdx.othello.models.GameData;
+import com.mygdx.othello.models.MoveList;
+
+import java.util.Random;
+
+/**
+ * This class builds the positions measured by the benchmarks, always the same ones
+ */
+final class Positions {
+
+    /**
+     * Moves of the 8x8 standard openings, as 'absolute' positions
+     * The initial powns of the game are the standard ones mirrored top to bottom, so f5 is 29
+     */
+    private static final int[] PERPENDICULAR = {29, 19};
+
+    private static final int[] DIAGONAL = {29, 21};
+
+    private static final int[] PARALLEL = {29, 37};
+
+    /** Seed of the random moves of the midgame positions */
+    private static final long SEED = 20190410L;
+
+    private Positions() {
+    }
+
+    /**
+     * Returns an 8x8 board after the moves of a standard opening
+     * @param name, "start", "perpendicular", "diagonal" or "parallel"
+     * @return a Board
+     */
+    static Board opening(String name) {
+        Board board = new Board(8, false, null);
+        int[] moves;
+        if (name.equals("start")) {
+            moves = new int[0];
+        } else if (name.equals("perpendicular")) {
+            moves = PERPENDICULAR;
+        } else if (name.equals("diagonal")) {
+            moves = DIAGONAL;
+        } else if (name.equals("parallel")) {
+            moves = PARALLEL;
+        } else {
+            throw new IllegalArgumentException("Unknown opening " + name);
+        }
+        for (int pos : moves) {
+            if (!board.makeMove(pos)) {
+                throw new IllegalStateException("Illegal opening move " + pos);
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Returns a board after random moves, about a third of the cells filled
+     * @param boardSize, width and/or height of the board
+     * @return a Board
+     */
+    static Board midgame(int boardSize) {
+        Board board = new Board(boardSize, false, null);
+        MoveList moves = new MoveList(boardSize);
+        Random random = new Random(SEED);
+        int plies = boardSize * boardSize / 3;
+        for (int i = 0; i < plies; i++) {
+            int count = board.generateMoves(board.getPlayerTurn(), moves);
+            if (count == 0) {
+                board.makeMove(Board.PASS);
+                continue;
+            }
+            board.makeMove(moves.getPos(random.nextInt(count)));
+        }
+        return board;
+    }
+
+    /**
+     * Returns the save of a board, as written by the game
+     * @param board, the board to save
+     * @return a GameData
+     */
+    static GameData save(Board board) {
+        GameData gameData = new GameData();
+        int[] values = new int[board.getCells().size()];
+        int[] lastFlips = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = board.getValue(i);
+        }
+        if (board.getLastFlips() != null) {
+            for (int i = 0; i < board.getLastFlips().size(); i++) {
+                lastFlips[board.getLastFlips().get(i).getPos()] = 1;
+            }
+        }
+        gameData.setCellsValue(values);
+        gameData.setLastFlips(lastFlips);
+        gameData.setBoardSize(board.getBoardSize());
+        gameData.setPlayerTurn(board.getPlayerTurn());
+        return gameData;
+    }
+}
@@ -7,7 +7,7 @@ import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.mygdx.othello.controllers.GameStateManager;
-import com.mygdx.othello.views.MenuScreen;
+import com.mygdx.othello.views.LoadingScreen;
 
 /**
  * Calls the create() method when first launching the app, it is the main class of the application
@@ -28,23 +28,20 @@ public class MyOthelloGame extends ApplicationAdapter {
 		batch = new SpriteBatch();
 		Gdx.gl.glClearColor(1, 1, 1, 1);
 
+		//Frames are only rendered after an input, a Timer task or while the screen is animating
+		Gdx.graphics.setContinuousRendering(false);
+
 		//Instanciate unique GameStateManager
 		gsm = GameStateManager.getInstance();
 
-		//Initialize the game preferences and the music
+		//Initialize the game preferences, the music is started once loaded
 		prefs = Gdx.app.getPreferences("My preferences");
 		prefs.putBoolean("ShowLegalMoves", true); prefs.flush();
 		prefs.putBoolean("DisplayScore", true); prefs.flush();
 		prefs.putBoolean("DisplayLastFlips", true); prefs.flush();
 
-		music = Gdx.audio.newMusic(Gdx.files.internal("music.mp3"));
-		music.setLooping(true);
-		music.setVolume(0.1f);
-		music.play();
-		if (prefs.getBoolean("IsMusicOff")) {
-			music.pause();
-		}
-		gsm.push(new MenuScreen(gsm));
+		//The assets are loaded in the background while the loading screen is shown
+		gsm.push(new LoadingScreen(gsm));
 	}
 
 	@Override
@@ -52,13 +49,36 @@ public class MyOthelloGame extends ApplicationAdapter {
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 		gsm.update(Gdx.graphics.getDeltaTime());
 		gsm.render(batch);
+		if (gsm.isAnimating()) {
+			Gdx.graphics.requestRendering();
+		}
 	}
 	
+	@Override
+	public void resize (int width, int height) {
+		gsm.resize(width, height);
+	}
+
 	@Override
 	public void dispose () {
+		gsm.dispose();
 		batch.dispose();
 	}
 
+	/**
+	 * Starts the background music, unless it is turned off in the settings
+	 * @param loadedMusic, the loaded music
+	 */
+	public static void playMusic(Music loadedMusic) {
+		music = loadedMusic;
+		music.setLooping(true);
+		music.setVolume(0.1f);
+		music.play();
+		if (Gdx.app.getPreferences("My preferences").getBoolean("IsMusicOff")) {
+			music.pause();
+		}
+	}
+
 	/**
 	 * Called to get the background music of the game
 	 * @return a Music
@@ -0,0 +1,156 @@
+package com.mygdx.othello.ai;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Preferences;
+
+/**
+ * This class gathers the settings of the AI player for a difficulty level
+ */
+public class AIConfig {
+
+    /** Names of the difficulty levels, displayed in the Settings Screen */
+    public static final String[] LEVELS = {"Easy", "Medium", "Hard", "Expert"};
+
+    /** Level used when none has been chosen in the settings */
+    public static final int DEFAULT_LEVEL = 1;
+
+    /** Time given to the search of a move for each level, in milliseconds */
+    private static final long[] TIME_BUDGETS = {100, 300, 700, 1000};
+
+    /** Number of empty cells from which the game is solved exactly for each level, 0 to never solve */
+    private static final int[] ENDGAME_EMPTIES = {0, 10, 14, 18};
+
+    /** Choices of the number of search threads, displayed in the Settings Screen, 0 stands for Auto */
+    public static final int[] THREADS = {0, 1, 2, 4, 8};
+
+    /** Number of threads used in Auto mode, set by the launcher of each platform */
+    private static int availableProcessors = 1;
+
+    /** Maximum depth of the search for each level */
+    private static final int[] MAX_DEPTHS = {2, 4, 8, 60};
+
+    /** Whether each level plays the moves of the opening book */
+    private static final boolean[] USE_BOOK = {false, true, true, true};
+
+    /** Whether each level keeps searching on the player's time */
+    private static final boolean[] USE_PONDERING = {false, false, true, true};
+
+    /** Difficulty level, index in LEVELS */
+    private int level;
+
+    /** Time given to the search of a move, in milliseconds */
+    private long timeBudget;
+
+    /** Maximum depth of the search */
+    private int maxDepth;
+
+    /** Number of empty cells from which the game is solved exactly */
+    private int endgameEmpties;
+
+    /** Number of threads searching, 0 for one per available processor */
+    private int threads;
+
+    /** Boolean indicating if the opening book is looked up before searching */
+    private boolean useBook;
+
+    /** Boolean indicating if the AI searches the position of the player while the player thinks */
+    private boolean usePondering;
+
+    /**
+     * Initialize the settings of a difficulty level
+     * @param level, index in LEVELS
+     */
+    public AIConfig(int level) {
+        if (level < 0 || level >= LEVELS.length) {
+            level = DEFAULT_LEVEL;
+        }
+        this.level = level;
+        this.timeBudget = TIME_BUDGETS[level];
+        this.maxDepth = MAX_DEPTHS[level];
+        this.endgameEmpties = ENDGAME_EMPTIES[level];
+        this.useBook = USE_BOOK[level];
+        this.usePondering = USE_PONDERING[level];
+    }
+
+    /**
+     * Returns the settings of the difficulty level saved in the preferences
+     * There is no pondering in a browser, it would block the render thread until the search ends
+     * @param prefs, the preferences of the game
+     * @return an AIConfig
+     */
+    public static AIConfig fromPreferences(Preferences prefs) {
+        AIConfig config = new AIConfig(prefs.getInteger("aiLevel", DEFAULT_LEVEL));
+        config.setThreads(prefs.getInteger("aiThreads", 0));
+        if (isWebGL()) {
+            config.setUsePondering(false);
+        }
+        return config;
+    }
+
+    /**
+     * Sets the number of processors of the device, used in Auto mode
+     * Called by the launchers, the core module can not ask for it on every platform
+     * @param processors, the number of available processors
+     */
+    public static void setAvailableProcessors(int processors) {
+        availableProcessors = Math.max(1, processors);
+    }
+
+    /**
+     * Returns true when running in a browser, where AsyncExecutor runs each task on the calling
+     * thread : the search then blocks the render thread and its helpers run one after the other
+     * @return a boolean
+     */
+    private static boolean isWebGL() {
+        return Gdx.app != null && Gdx.app.getType() == Application.ApplicationType.WebGL;
+    }
+
+    /**
+     * Returns the name of a number of threads, displayed in the Settings Screen
+     * @param threads, a value of THREADS
+     * @return a String
+     */
+    public static String getThreadsName(int threads) {
+        return (threads <= 0) ? "Auto" : String.valueOf(threads);
+    }
+
+    /**
+     * Returns the number of threads the search actually uses, always 1 in a browser
+     * @return an Integer, at least 1
+     */
+    public int getSearchThreads() {
+        if (isWebGL()) {
+            return 1;
+        }
+        return (threads <= 0) ? availableProcessors : threads;
+    }
+
+    public int getLevel() { return level; }
+
+    public String getLevelName() { return LEVELS[level]; }
+
+    public long getTimeBudget() { return timeBudget; }
+
+    public void setTimeBudget(long timeBudget) { this.timeBudget = timeBudget; }
+
+    public int getMaxDepth() { return maxDepth; }
+
+    public void setMaxDepth(int maxDepth) { this.maxDepth = maxDepth; }
+
+    public int getEndgameEmpties() { return endgameEmpties; }
+
+    public void setEndgameEmpties(int endgameEmpties) { this.endgameEmpties = endgameEmpties; }
+
+    public int getThreads() { return threads; }
+
+    public void setThreads(int threads) { this.threads = Math.max(0, threads); }
+
+    public boolean useBook() { return useBook; }
+
+    public void setUseBook(boolean useBook) { this.useBook = useBook; }
+
+    public boolean usePondering() { return usePondering; }
+
+    public void setUsePondering(boolean usePondering) { this.usePondering = usePondering; }
+}
@@ -0,0 +1,338 @@
+package com.mygdx.othello.ai;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.othello.models.BitBoard;
+import com.mygdx.othello.models.Zobrist;
+
+/**
+ * This class solves the end of an 8x8 game : it searches every move until the board is full
+ * and finds the move giving the best final disc differential with perfect play
+ * It is much faster than the general search on the last empties thanks to :
+ * - fastest-first ordering, the moves leaving the opponent the fewest replies are searched first
+ * - parity ordering near the end, the moves in the regions with an odd number of empties first
+ * - stability cutoffs, the discs of the opponent that can never flip bound the best reachable score
+ * - principal variation search, the moves after the first one are only proven worse with a null window
+ * The positions with many empties are kept in a transposition table
+ */
+public class EndgameSolver {
+
+    /** Maximum number of plies of a solve, passes included */
+    private static final int MAX_PLY = 128;
+
+    /** Maximum number of legal moves in a position */
+    private static final int MAX_MOVES = 64;
+
+    /** Number of nodes searched between two checks of the clock */
+    private static final int CLOCK_MASK = 4095;
+
+    /** Below this number of empties the moves are ordered by parity only, mobility costs too much */
+    private static final int FASTEST_FIRST_EMPTIES = 7;
+
+    /** From this number of empties the stable discs are counted to try a cutoff */
+    private static final int STABILITY_EMPTIES = 8;
+
+    /** The 4 quadrants of the board, used for the parity of the empty regions */
+    private static final long[] QUADRANTS = {
+            0x000000000F0F0F0FL, 0x00000000F0F0F0F0L,
+            0x0F0F0F0F00000000L, 0xF0F0F0F000000000L
+    };
+
+    /** From this number of empties the positions are stored in the transposition table */
+    private static final int TABLE_EMPTIES = 10;
+
+    /** Ordering score given to the best move stored in the transposition table */
+    private static final int HASH_MOVE_SCORE = 1 << 20;
+
+    /** Mask of the 4 corners of the board */
+    private static final long CORNERS = 0x8100000000000081L;
+
+    /** Results of the positions already solved, the depth of an entry is its number of empties */
+    private TranspositionTable table = new TranspositionTable();
+
+    /** Moves of each ply, sorted from the most to the least promising */
+    private int[][] moves = new int[MAX_PLY][MAX_MOVES];
+
+    /** Ordering score of the moves of each ply */
+    private int[][] orderScores = new int[MAX_PLY][MAX_MOVES];
+
+    /** Time at which the current solve has to stop, in milliseconds */
+    private long deadline;
+
+    /** Boolean indicating if the current solve ran out of time or was stopped */
+    private boolean aborted;
+
+    /** Boolean set by another thread to stop the current solve, no solve runs after it */
+    private volatile boolean cancelled;
+
+    /** Number of positions visited by the last solve */
+    private long nodes;
+
+    /** Final disc differential of the best move found by the last solve */
+    private int score;
+
+    /**
+     * Returns the best move of the player p against the player o with perfect play
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param player, the active player number, used to hash the positions
+     * @param timeBudget, the time given to the solve, in milliseconds
+     * @return an Integer, the 'absolute' position of the best move, -1 if p has no legal move
+     * or if the game could not be solved in time
+     */
+    public int solve(long p, long o, int player, long timeBudget) {
+        nodes = 0;
+        score = 0;
+        aborted = false;
+        deadline = TimeUtils.millis() + timeBudget;
+        table.newSearch();
+
+        long legal = BitBoard.legalMoves(p, o);
+        if (legal == 0) {
+            return -1;
+        }
+        int empties = 64 - Long.bitCount(p | o);
+        long hash = (player == 1) ? Zobrist.hash(p, o, 1) : Zobrist.hash(o, p, 2);
+        int opponent = (player == 1) ? 2 : 1;
+        int count = orderMoves(legal, p, o, empties, 0, TranspositionTable.move(table.probe(hash)));
+        int[] rootMoves = moves[0];
+        int alpha = -65;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            int pos = rootMoves[i];
+            long flips = BitBoard.flips(pos, p, o);
+            long next = hash ^ Zobrist.moveKey(pos, flips, player);
+            int value;
+            if (i == 0) {
+                value = -negamax(o & ~flips, p | flips | (1L << pos), opponent, next, -65, 65, empties - 1, 1);
+            } else {
+                value = -negamax(o & ~flips, p | flips | (1L << pos), opponent, next, -alpha - 1, -alpha, empties - 1, 1);
+                if (value > alpha && !aborted) {
+                    value = -negamax(o & ~flips, p | flips | (1L << pos), opponent, next, -65, -value, empties - 1, 1);
+                }
+            }
+            if (aborted) {
+                return -1;
+            }
+            if (value > alpha) {
+                alpha = value;
+                bestMove = pos;
+            }
+        }
+        score = alpha;
+        table.store(hash, empties, TranspositionTable.EXACT, alpha, bestMove);
+        return bestMove;
+    }
+
+    /**
+     * Stops the current solve and prevents any further one, called from another thread
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns the number of positions visited by the last solve
+     * @return a long
+     */
+    public long getNodes() { return nodes; }
+
+    /**
+     * Returns the final disc differential of the move found by the last solve
+     * @return an Integer, positive if the active player wins, the empties go to the winner
+     */
+    public int getScore() { return score; }
+
+    /**
+     * Negamax search with alpha-beta pruning, down to the end of the game
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param player, the active player number
+     * @param hash, the Zobrist hash of the position
+     * @param alpha, the score the active player is already sure to get
+     * @param beta, the score the opposing player is already sure to get
+     * @param empties, the number of empty cells
+     * @param ply, the distance to the root of the solve
+     * @return an Integer, the final disc differential for the active player
+     */
+    private int negamax(long p, long o, int player, long hash, int alpha, int beta, int empties, int ply) {
+        if ((++nodes & CLOCK_MASK) == 0 && (cancelled || TimeUtils.millis() >= deadline)) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+        if (empties == 1) {
+            return lastMove(p, o);
+        }
+
+        long legal = BitBoard.legalMoves(p, o);
+        int opponent = (player == 1) ? 2 : 1;
+        if (legal == 0) {
+            if (BitBoard.legalMoves(o, p) == 0) {
+                return finalScore(p, o, empties);
+            }
+            return -negamax(o, p, opponent, hash ^ Zobrist.SIDE, -beta, -alpha, empties, ply + 1);
+        }
+
+        //The stable discs of the opponent will still be his at the end of the game
+        if (empties >= STABILITY_EMPTIES && alpha >= 2 * empties - 64) {
+            int upper = 64 - 2 * Long.bitCount(BitBoard.stableDiscs(o, p));
+            if (upper <= alpha) {
+                return upper;
+            }
+            if (upper < beta) {
+                beta = upper;
+            }
+        }
+
+        //Use the result of a previous solve of this position
+        int hashMove = -1;
+        boolean stored = empties >= TABLE_EMPTIES;
+        if (stored) {
+            long entry = table.probe(hash);
+            if (entry != 0L) {
+                hashMove = TranspositionTable.move(entry);
+                int value = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && value >= beta)
+                        || (bound == TranspositionTable.UPPER && value <= alpha)) {
+                    return value;
+                }
+            }
+        }
+
+        int alphaStart = alpha;
+        int count = orderMoves(legal, p, o, empties, ply, hashMove);
+        int[] plyMoves = moves[ply];
+        int best = -65;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            int pos = plyMoves[i];
+            long flips = BitBoard.flips(pos, p, o);
+            long nextP = o & ~flips;
+            long nextO = p | flips | (1L << pos);
+            long next = hash ^ Zobrist.moveKey(pos, flips, player);
+            int value;
+            if (i == 0) {
+                value = -negamax(nextP, nextO, opponent, next, -beta, -alpha, empties - 1, ply + 1);
+            } else {
+                //Null window : only prove that the move is not better than the best one
+                value = -negamax(nextP, nextO, opponent, next, -alpha - 1, -alpha, empties - 1, ply + 1);
+                if (value > alpha && value < beta && !aborted) {
+                    value = -negamax(nextP, nextO, opponent, next, -beta, -value, empties - 1, ply + 1);
+                }
+            }
+            if (aborted) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+                bestMove = pos;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        if (stored) {
+            int bound = (best >= beta) ? TranspositionTable.LOWER
+                    : (best > alphaStart) ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+            table.store(hash, empties, bound, best, bestMove);
+        }
+        return best;
+    }
+
+    /**
+     * Final disc differential when a single cell is empty, without generating the moves
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @return an Integer, positive if p wins
+     */
+    private static int lastMove(long p, long o) {
+        int pos = Long.numberOfTrailingZeros(~(p | o));
+        long flips = BitBoard.flips(pos, p, o);
+        if (flips != 0) {
+            int flipped = Long.bitCount(flips);
+            return Long.bitCount(p) + 2 * flipped + 1 - Long.bitCount(o);
+        }
+        flips = BitBoard.flips(pos, o, p);
+        if (flips != 0) {
+            int flipped = Long.bitCount(flips);
+            return Long.bitCount(p) - 2 * flipped - 1 - Long.bitCount(o);
+        }
+        return finalScore(p, o, 1);
+    }
+
+    /**
+     * Stores the legal moves of the ply in moves[ply], sorted from the most to the least promising
+     * Fastest-first ordering when there are enough empties, parity ordering otherwise
+     * @param legal, the legal moves mask
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param empties, the number of empty cells
+     * @param ply, the distance to the root of the solve
+     * @param hashMove, the best move stored in the transposition table, searched first, -1 if none
+     * @return an Integer, the number of legal moves
+     */
+    private int orderMoves(long legal, long p, long o, int empties, int ply, int hashMove) {
+        int[] plyMoves = moves[ply];
+        int[] scores = orderScores[ply];
+        long empty = ~(p | o);
+        long oddRegions = 0L;
+        for (long quadrant : QUADRANTS) {
+            if ((Long.bitCount(empty & quadrant) & 1) != 0) {
+                oddRegions |= quadrant;
+            }
+        }
+
+        int count = 0;
+        while (legal != 0) {
+            int pos = Long.numberOfTrailingZeros(legal);
+            long move = 1L << pos;
+            legal &= legal - 1;
+
+            int value = ((oddRegions & move) != 0) ? 1 : 0;
+            if (pos == hashMove) {
+                value += HASH_MOVE_SCORE;
+            } else if (empties > FASTEST_FIRST_EMPTIES) {
+                long flips = BitBoard.flips(pos, p, o);
+                value -= 16 * BitBoard.mobility(o & ~flips, p | flips | move);
+                if ((CORNERS & move) != 0) {
+                    value += 8;
+                }
+            }
+
+            //Insertion sort, the lists are short
+            int i = count++;
+            while (i > 0 && scores[i - 1] < value) {
+                scores[i] = scores[i - 1];
+                plyMoves[i] = plyMoves[i - 1];
+                i--;
+            }
+            scores[i] = value;
+            plyMoves[i] = pos;
+        }
+        return count;
+    }
+
+    /**
+     * Final disc differential of a game over before the board is full
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param empties, the number of empty cells, given to the winner
+     * @return an Integer, positive if p wins
+     */
+    static int finalScore(long p, long o, int empties) {
+        int diff = Long.bitCount(p) - Long.bitCount(o);
+        if (diff > 0) {
+            return diff + empties;
+        } else if (diff < 0) {
+            return diff - empties;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,255 @@
+package com.mygdx.othello.ai;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.math.MathUtils;
+import com.mygdx.othello.models.BitBoard;
+import com.mygdx.othello.models.Zobrist;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * This class holds the opening book of the AI : the best moves of the 8x8 positions of the
+ * beginning of the game, with a weight each, computed once by the BookBuilder of the headless module
+ * A position is stored once for its 8 symmetries : under the symmetry giving the smallest hash,
+ * called canonical. The moves are stored in the canonical frame and turned back when looked up.
+ * The book is kept in sorted arrays searched by dichotomy, a few bytes per move
+ *
+ * File format, big-endian : the int MAGIC, the number of positions, the number of moves, the
+ * sorted canonical hashes (longs), the number of moves of each position (bytes), then for each
+ * move its canonical 'absolute' position (byte) and its weight (short)
+ */
+public class OpeningBook {
+
+    /** Name of the book file in the assets */
+    public static final String FILE = "opening_book.bin";
+
+    /** First int of a book file, "OBK1" */
+    private static final int MAGIC = 0x4F424B31;
+
+    /** Canonical hash of each position, sorted */
+    private long[] keys;
+
+    /** Index in moves of the first move of each position, followed by the total number of moves */
+    private int[] firstMoves;
+
+    /** Canonical 'absolute' position of each move */
+    private byte[] moves;
+
+    /** Weight of each move, the moves are played with a probability proportional to it */
+    private short[] weights;
+
+    /**
+     * Creates a book from its arrays
+     * @param keys, the sorted canonical hashes
+     * @param firstMoves, the index of the first move of each position, then the number of moves
+     * @param moves, the canonical positions of the moves
+     * @param weights, the weights of the moves
+     */
+    private OpeningBook(long[] keys, int[] firstMoves, byte[] moves, short[] weights) {
+        this.keys = keys;
+        this.firstMoves = firstMoves;
+        this.moves = moves;
+        this.weights = weights;
+    }
+
+    /**
+     * Creates an empty book, in which no position is found
+     * @return an OpeningBook
+     */
+    public static OpeningBook empty() {
+        return new OpeningBook(new long[0], new int[1], new byte[0], new short[0]);
+    }
+
+    /**
+     * Loads a book file, an empty book is returned if it is missing or invalid
+     * @param file, the book file
+     * @return an OpeningBook
+     */
+    public static OpeningBook load(FileHandle file) {
+        if (!file.exists()) {
+            System.err.println("No opening book " + file.path());
+            return empty();
+        }
+        try {
+            return fromBytes(file.readBytes());
+        } catch (RuntimeException e) {
+            System.err.println("Invalid opening book " + file.path() + " : " + e.getMessage());
+            return empty();
+        }
+    }
+
+    /**
+     * Reads a book from the content of a book file
+     * @param data, the content of the file
+     * @return an OpeningBook
+     */
+    public static OpeningBook fromBytes(byte[] data) {
+        int offset = 0;
+        if (readInt(data, offset) != MAGIC) {
+            throw new IllegalArgumentException("Not an opening book.");
+        }
+        int positionCount = readInt(data, offset + 4);
+        int moveCount = readInt(data, offset + 8);
+        offset += 12;
+        if (positionCount < 0 || moveCount < 0
+                || data.length != offset + 9L * positionCount + 3L * moveCount) {
+            throw new IllegalArgumentException("Truncated opening book.");
+        }
+
+        long[] keys = new long[positionCount];
+        for (int i = 0; i < positionCount; i++) {
+            keys[i] = ((long) readInt(data, offset) << 32) | (readInt(data, offset + 4) & 0xFFFFFFFFL);
+            offset += 8;
+        }
+        int[] firstMoves = new int[positionCount + 1];
+        for (int i = 0; i < positionCount; i++) {
+            firstMoves[i + 1] = firstMoves[i] + (data[offset++] & 0xFF);
+        }
+        if (firstMoves[positionCount] != moveCount) {
+            throw new IllegalArgumentException("Inconsistent opening book.");
+        }
+        byte[] moves = new byte[moveCount];
+        short[] weights = new short[moveCount];
+        for (int i = 0; i < moveCount; i++) {
+            moves[i] = data[offset];
+            weights[i] = (short) (((data[offset + 1] & 0xFF) << 8) | (data[offset + 2] & 0xFF));
+            offset += 3;
+        }
+        return new OpeningBook(keys, firstMoves, moves, weights);
+    }
+
+    /**
+     * Creates a book from the moves of each position
+     * @param entries, the canonical hash of each position mapped to its moves, as pairs of
+     *                 (canonical position, weight)
+     * @return an OpeningBook
+     */
+    public static OpeningBook fromEntries(Map<Long, int[]> entries) {
+        long[] keys = new long[entries.size()];
+        int moveCount = 0;
+        int i = 0;
+        for (Map.Entry<Long, int[]> entry : entries.entrySet()) {
+            keys[i++] = entry.getKey();
+            moveCount += entry.getValue().length / 2;
+        }
+        Arrays.sort(keys);
+
+        int[] firstMoves = new int[keys.length + 1];
+        byte[] moves = new byte[moveCount];
+        short[] weights = new short[moveCount];
+        for (i = 0; i < keys.length; i++) {
+            int[] pairs = entries.get(keys[i]);
+            int first = firstMoves[i];
+            for (int j = 0; j < pairs.length / 2; j++) {
+                moves[first + j] = (byte) pairs[2 * j];
+                weights[first + j] = (short) pairs[2 * j + 1];
+            }
+            firstMoves[i + 1] = first + pairs.length / 2;
+        }
+        return new OpeningBook(keys, firstMoves, moves, weights);
+    }
+
+    /**
+     * Writes the book in the format read by fromBytes
+     * @return a byte[], the content of a book file
+     */
+    public byte[] toBytes() {
+        int moveCount = moves.length;
+        byte[] data = new byte[12 + 9 * keys.length + 3 * moveCount];
+        writeInt(data, 0, MAGIC);
+        writeInt(data, 4, keys.length);
+        writeInt(data, 8, moveCount);
+        int offset = 12;
+        for (long key : keys) {
+            writeInt(data, offset, (int) (key >>> 32));
+            writeInt(data, offset + 4, (int) key);
+            offset += 8;
+        }
+        for (int i = 0; i < keys.length; i++) {
+            data[offset++] = (byte) (firstMoves[i + 1] - firstMoves[i]);
+        }
+        for (int i = 0; i < moveCount; i++) {
+            data[offset] = moves[i];
+            data[offset + 1] = (byte) (weights[i] >>> 8);
+            data[offset + 2] = (byte) weights[i];
+            offset += 3;
+        }
+        return data;
+    }
+
+    /**
+     * Returns the number of positions of the book
+     * @return an Integer
+     */
+    public int size() { return keys.length; }
+
+    /**
+     * Returns a move of the book for a position, chosen at random according to the weights
+     * @param black, the discs of player 1
+     * @param white, the discs of player 2
+     * @param player, the active player
+     * @return an Integer, the 'absolute' position of the move, -1 if the position is not in the book
+     */
+    public int findMove(long black, long white, int player) {
+        int symmetry = canonicalSymmetry(black, white, player);
+        long key = Zobrist.hash(BitBoard.symmetry(black, symmetry), BitBoard.symmetry(white, symmetry), player);
+        int index = Arrays.binarySearch(keys, key);
+        if (index < 0) {
+            return -1;
+        }
+
+        int total = 0;
+        for (int i = firstMoves[index]; i < firstMoves[index + 1]; i++) {
+            total += weights[i];
+        }
+        if (total <= 0) {
+            return -1;
+        }
+        int value = MathUtils.random(total - 1);
+        int i = firstMoves[index];
+        while (value >= weights[i]) {
+            value -= weights[i];
+            i++;
+        }
+        return Long.numberOfTrailingZeros(BitBoard.inverseSymmetry(1L << moves[i], symmetry));
+    }
+
+    /**
+     * Returns the symmetry turning a position into its canonical form, the one with the smallest hash
+     * @param black, the discs of player 1
+     * @param white, the discs of player 2
+     * @param player, the active player
+     * @return an Integer, the symmetry, between 0 and 7, as used by BitBoard.symmetry
+     */
+    public static int canonicalSymmetry(long black, long white, int player) {
+        int best = 0;
+        long bestKey = Zobrist.hash(black, white, player);
+        for (int s = 1; s < 8; s++) {
+            long key = Zobrist.hash(BitBoard.symmetry(black, s), BitBoard.symmetry(white, s), player);
+            if (key < bestKey) {
+                bestKey = key;
+                best = s;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the big-endian int stored at offset
+     */
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    /**
+     * Stores a big-endian int at offset
+     */
+    private static void writeInt(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+}
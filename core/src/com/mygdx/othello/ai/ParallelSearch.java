@@ -0,0 +1,212 @@
+package com.mygdx.othello.ai;
+
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/**
+ * This class runs several searches of the same position at the same time (Lazy SMP)
+ * All the threads share one transposition table, so each one profits from the positions already
+ * searched by the others. Half of the helper threads start one iteration deeper, so that the
+ * threads do not all follow the same path in the tree.
+ * The move returned is the one of the main search, the helpers only fill the table
+ */
+public class ParallelSearch {
+
+    /** Table shared by all the threads */
+    private TranspositionTable table;
+
+    /** Search engine of the calling thread */
+    private Search main;
+
+    /** Search engines of the helper threads, iterated with indices as several threads read it */
+    private Array<Search> helpers;
+
+    /** Threads running the helpers, null when there is none */
+    private AsyncExecutor executor;
+
+    /** Results of the helper tasks of the current search */
+    private Array<AsyncResult<Void>> results;
+
+    /** Boolean set when the search is cancelled for good, no search runs after it */
+    private volatile boolean cancelled;
+
+    /** Boolean set when the search on the opponent's time has to stop */
+    private volatile boolean ponderStopped;
+
+    /**
+     * Creates a parallel search engine
+     * @param threads, the total number of threads searching, the calling one included
+     */
+    public ParallelSearch(int threads) {
+        table = new TranspositionTable();
+        main = new Search(table);
+        helpers = new Array<Search>();
+        results = new Array<AsyncResult<Void>>();
+        for (int i = 1; i < threads; i++) {
+            helpers.add(new Search(table));
+        }
+        if (helpers.size > 0) {
+            executor = new AsyncExecutor(helpers.size);
+        }
+    }
+
+    /**
+     * Returns the best move of the player p against the player o
+     * Blocks until the main search is over, and the helpers stopped
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param player, the active player number, used to hash the positions
+     * @param maxDepth, the depth of the last iteration
+     * @param timeBudget, the time given to the search, in milliseconds
+     * @return an Integer, the 'absolute' position of the best move, -1 if p has no legal move
+     */
+    public int findBestMove(long p, long o, int player, int maxDepth, long timeBudget) {
+        return run(p, o, player, maxDepth, timeBudget, false);
+    }
+
+    /**
+     * Searches a position of the opponent on its time, only to fill the transposition table
+     * The search of the reply of the AI then finds the positions already searched.
+     * It runs until the time budget is over or stopPondering() is called
+     * @param p, the discs of the opponent, the active player
+     * @param o, the discs of the AI
+     * @param player, the active player number
+     * @param maxDepth, the depth of the last iteration
+     * @param timeBudget, the longest time given to the search, in milliseconds
+     */
+    public void ponder(long p, long o, int player, int maxDepth, long timeBudget) {
+        run(p, o, player, maxDepth, timeBudget, true);
+    }
+
+    /**
+     * Allows the next call to ponder() to run, called before submitting it
+     */
+    public void startPondering() {
+        ponderStopped = false;
+    }
+
+    /**
+     * Stops the current or next call to ponder(), called from another thread
+     */
+    public void stopPondering() {
+        ponderStopped = true;
+        stopAll();
+    }
+
+    /**
+     * Runs the threads on a position, see findBestMove
+     * @param pondering, true if the search is stopped by stopPondering()
+     * @return an Integer, the 'absolute' position of the best move, -1 if p has no legal move
+     */
+    private int run(final long p, final long o, final int player, final int maxDepth, long timeBudget,
+                    boolean pondering) {
+        final long deadline = TimeUtils.millis() + timeBudget;
+        table.newSearch();
+        main.resume();
+        for (int i = 0; i < helpers.size; i++) {
+            helpers.get(i).resume();
+        }
+        //A cancel() or stopPondering() received before the resume() calls above has to be applied again
+        if (cancelled || (pondering && ponderStopped)) {
+            stopAll();
+        }
+
+        results.clear();
+        for (int i = 0; i < helpers.size; i++) {
+            final Search helper = helpers.get(i);
+            final int firstDepth = 1 + (i & 1);
+            results.add(executor.submit(new AsyncTask<Void>() {
+                @Override
+                public Void call() {
+                    helper.search(p, o, player, firstDepth, maxDepth, deadline);
+                    return null;
+                }
+            }));
+        }
+
+        int move = main.search(p, o, player, 1, maxDepth, deadline);
+
+        //The main search is over, the work of the helpers is not needed any more
+        for (int i = 0; i < helpers.size; i++) {
+            helpers.get(i).stop();
+        }
+        for (int i = 0; i < results.size; i++) {
+            results.get(i).get();
+        }
+        results.clear();
+        return move;
+    }
+
+    /**
+     * Stops the current search and prevents any further one, called from another thread
+     * The current call to findBestMove returns as soon as possible
+     */
+    public void cancel() {
+        cancelled = true;
+        stopAll();
+    }
+
+    /** Stops the search of all the threads */
+    private void stopAll() {
+        main.stop();
+        for (int i = 0; i < helpers.size; i++) {
+            helpers.get(i).stop();
+        }
+    }
+
+    /**
+     * Returns the number of positions visited by all the threads during the last search
+     * @return a long
+     */
+    public long getNodes() {
+        long nodes = main.getNodes();
+        for (int i = 0; i < helpers.size; i++) {
+            nodes += helpers.get(i).getNodes();
+        }
+        return nodes;
+    }
+
+    /**
+     * Returns the last depth fully searched by the main thread
+     * @return an Integer
+     */
+    public int getDepth() { return main.getDepth(); }
+
+    /**
+     * Returns the score of the move found by the last search
+     * @return an Integer, positive if the active player is ahead
+     */
+    public int getScore() { return main.getScore(); }
+
+    /**
+     * Returns the number of threads searching
+     * @return an Integer
+     */
+    public int getThreads() { return helpers.size + 1; }
+
+    /**
+     * Sets the weights of the static evaluation of every thread
+     * Must not be called while findBestMove is running
+     * @param weights, the weights, shared by the threads
+     */
+    public void setWeights(PatternWeights weights) {
+        main.setWeights(weights);
+        for (int i = 0; i < helpers.size; i++) {
+            helpers.get(i).setWeights(weights);
+        }
+    }
+
+    /**
+     * Stops the helper threads, the engine can not be used after it
+     * Must not be called while findBestMove is running
+     */
+    public void dispose() {
+        if (executor != null) {
+            executor.dispose();
+            executor = null;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package com.mygdx.othello.ai;
+
+import com.mygdx.othello.models.BitBoard;
+import com.mygdx.othello.models.Board;
+
+/**
+ * This class evaluates 8x8 positions with patterns : groups of cells (edges, corners, lines and
+ * diagonals) whose content is read as a base 3 number, 0 for an empty cell, 1 for black and 2
+ * for white, indexing a table of weights. Each pattern is used under all its symmetries, called
+ * instances, which share the same table. The mobility and the parity of the empty cells are
+ * added to the sum of the tables
+ * The index of each instance is kept up to date by play() and undo(), so that evaluating a
+ * position only costs one table lookup per instance
+ * The weights are shared, the indices are not : a search thread needs its own PatternEvaluation
+ */
+public class PatternEvaluation {
+
+    /** Number of game phases, each one has its own weights */
+    public static final int PHASES = 4;
+
+    /** Cells of the first instance of each pattern, the cell k counts for 3^k in the index */
+    private static final int[][] PATTERNS = {
+            //Edge
+            {0, 1, 2, 3, 4, 5, 6, 7},
+            //3x3 corner
+            {0, 1, 2, 8, 9, 10, 16, 17, 18},
+            //2x5 corner
+            {0, 1, 2, 3, 4, 8, 9, 10, 11, 12},
+            //Second, third and fourth rows
+            {8, 9, 10, 11, 12, 13, 14, 15},
+            {16, 17, 18, 19, 20, 21, 22, 23},
+            {24, 25, 26, 27, 28, 29, 30, 31},
+            //Diagonals of 8 to 4 cells
+            {0, 9, 18, 27, 36, 45, 54, 63},
+            {1, 10, 19, 28, 37, 46, 55},
+            {2, 11, 20, 29, 38, 47},
+            {3, 12, 21, 30, 39},
+            {4, 13, 22, 31}
+    };
+
+    /** Index of the table of each pattern in the weights of a phase */
+    private static final int[] PATTERN_OFFSETS = new int[PATTERNS.length];
+
+    /** Number of weights of a phase, all the tables of the patterns */
+    public static final int TABLE_SIZE;
+
+    /** Cells of each instance */
+    private static final int[][] INSTANCES;
+
+    /** Index of the table of each instance in the weights of a phase */
+    private static final int[] INSTANCE_OFFSETS;
+
+    /** Instances containing each cell */
+    private static final int[][] CELL_INSTANCES = new int[64][];
+
+    /** Power of 3 of each cell in each instance of CELL_INSTANCES */
+    private static final int[][] CELL_POWERS = new int[64][];
+
+    static {
+        int offset = 0;
+        int[][] instances = new int[PATTERNS.length * 8][];
+        int[] instanceOffsets = new int[instances.length];
+        int count = 0;
+        for (int p = 0; p < PATTERNS.length; p++) {
+            PATTERN_OFFSETS[p] = offset;
+            offset += power(PATTERNS[p].length);
+
+            //Keep each symmetric image once, the cells in the order of the first instance
+            long[] masks = new long[8];
+            for (int s = 0; s < 8; s++) {
+                int[] cells = new int[PATTERNS[p].length];
+                long mask = 0L;
+                for (int k = 0; k < cells.length; k++) {
+                    cells[k] = Long.numberOfTrailingZeros(BitBoard.symmetry(1L << PATTERNS[p][k], s));
+                    mask |= 1L << cells[k];
+                }
+                boolean duplicate = false;
+                for (int t = 0; t < s; t++) {
+                    duplicate |= masks[t] == mask;
+                }
+                masks[s] = mask;
+                if (!duplicate) {
+                    instanceOffsets[count] = PATTERN_OFFSETS[p];
+                    instances[count++] = cells;
+                }
+            }
+        }
+        TABLE_SIZE = offset;
+        INSTANCES = new int[count][];
+        INSTANCE_OFFSETS = new int[count];
+        System.arraycopy(instances, 0, INSTANCES, 0, count);
+        System.arraycopy(instanceOffsets, 0, INSTANCE_OFFSETS, 0, count);
+
+        for (int pos = 0; pos < 64; pos++) {
+            int cellCount = 0;
+            for (int[] cells : INSTANCES) {
+                for (int cell : cells) {
+                    cellCount += (cell == pos) ? 1 : 0;
+                }
+            }
+            CELL_INSTANCES[pos] = new int[cellCount];
+            CELL_POWERS[pos] = new int[cellCount];
+            cellCount = 0;
+            for (int i = 0; i < INSTANCES.length; i++) {
+                for (int k = 0; k < INSTANCES[i].length; k++) {
+                    if (INSTANCES[i][k] == pos) {
+                        CELL_INSTANCES[pos][cellCount] = i;
+                        CELL_POWERS[pos][cellCount++] = power(k);
+                    }
+                }
+            }
+        }
+    }
+
+    /** Weights of the tables, the mobility and the parity */
+    private PatternWeights weights;
+
+    /** Index of each instance in its table for the current position */
+    private int[] indices = new int[INSTANCES.length];
+
+    /**
+     * Creates an evaluation of an empty board, the position is then given by setPosition()
+     * @param weights, the weights used
+     */
+    public PatternEvaluation(PatternWeights weights) {
+        this.weights = weights;
+    }
+
+    public PatternWeights getWeights() { return weights; }
+
+    public void setWeights(PatternWeights weights) { this.weights = weights; }
+
+    /**
+     * Returns the number of instances of all the patterns
+     * @return an Integer
+     */
+    public static int getInstanceCount() { return INSTANCES.length; }
+
+    /**
+     * Returns the game phase of a position
+     * @param discs, the number of discs on the board
+     * @return an Integer, between 0 and PHASES - 1
+     */
+    public static int phase(int discs) {
+        return Math.min(PHASES - 1, Math.max(0, (discs - 4) * PHASES / 61));
+    }
+
+    /**
+     * Computes the index of every instance from scratch
+     * @param black, the discs of player 1
+     * @param white, the discs of player 2
+     */
+    public void setPosition(long black, long white) {
+        for (int i = 0; i < INSTANCES.length; i++) {
+            int[] cells = INSTANCES[i];
+            int index = 0;
+            for (int k = cells.length - 1; k >= 0; k--) {
+                long bit = 1L << cells[k];
+                index = 3 * index + (((black & bit) != 0) ? 1 : ((white & bit) != 0) ? 2 : 0);
+            }
+            indices[i] = index;
+        }
+    }
+
+    /**
+     * Updates the indices after a move
+     * @param pos, the 'absolute' position of the new pown
+     * @param flips, the discs flipped by the move
+     * @param player, the player who moved
+     */
+    public void play(int pos, long flips, int player) {
+        update(pos, flips, player, 1);
+    }
+
+    /**
+     * Restores the indices before a move, the reverse of play()
+     * @param pos, the 'absolute' position of the pown removed
+     * @param flips, the discs flipped by the move
+     * @param player, the player who moved
+     */
+    public void undo(int pos, long flips, int player) {
+        update(pos, flips, player, -1);
+    }
+
+    /**
+     * Adds the change of digit of each cell of a move to the indices
+     * @param sign, 1 to play the move, -1 to undo it
+     */
+    private void update(int pos, long flips, int player, int sign) {
+        //An empty cell becomes the player's digit, a flipped one goes from 2 to 1 or from 1 to 2
+        int placed = sign * player;
+        int flipped = (player == 1) ? -sign : sign;
+        addDigit(pos, placed);
+        while (flips != 0) {
+            addDigit(Long.numberOfTrailingZeros(flips), flipped);
+            flips &= flips - 1;
+        }
+    }
+
+    /**
+     * Adds delta to the digit of a cell in all its instances
+     */
+    private void addDigit(int pos, int delta) {
+        int[] instances = CELL_INSTANCES[pos];
+        int[] powers = CELL_POWERS[pos];
+        for (int j = 0; j < instances.length; j++) {
+            indices[instances[j]] += delta * powers[j];
+        }
+    }
+
+    /**
+     * Returns the index of an instance in the weights of a phase, for the current position
+     * @param instance, between 0 and getInstanceCount() - 1
+     * @return an Integer, between 0 and TABLE_SIZE - 1
+     */
+    public int getFeature(int instance) {
+        return INSTANCE_OFFSETS[instance] + indices[instance];
+    }
+
+    /**
+     * Static evaluation of the current position
+     * @param player, the active player
+     * @param mobility, the number of legal moves of the active player
+     * @param opponentMobility, the number of legal moves of the opposing player
+     * @param empties, the number of empty cells
+     * @return an Integer, positive if the active player is ahead
+     */
+    public int evaluate(int player, int mobility, int opponentMobility, int empties) {
+        int phase = phase(64 - empties);
+        short[] table = weights.getTable(phase);
+        int value = 0;
+        for (int i = 0; i < INSTANCES.length; i++) {
+            value += table[INSTANCE_OFFSETS[i] + indices[i]];
+        }
+        //The tables are written for black
+        if (player == 2) {
+            value = -value;
+        }
+        value += weights.getMobilityWeight(phase) * (mobility - opponentMobility);
+        if ((empties & 1) != 0) {
+            //The active player gets the last move of an odd number of empty cells
+            value += weights.getParityWeight(phase);
+        }
+        return value;
+    }
+
+    /**
+     * Static evaluation of an 8x8 board, the indices are computed again
+     * @param board, the board
+     * @param player, the player the score is given for
+     * @return an Integer, positive if the player is ahead
+     */
+    public int evaluate(Board board, int player) {
+        long black = board.getDiscs(1);
+        long white = board.getDiscs(2);
+        setPosition(black, white);
+        long p = (player == 1) ? black : white;
+        long o = (player == 1) ? white : black;
+        return evaluate(player, BitBoard.mobility(p, o), BitBoard.mobility(o, p),
+                64 - Long.bitCount(black | white));
+    }
+
+    /**
+     * Builds a table of weights adding up to the sum of the values of the cells of each disc,
+     * positive for black and negative for white
+     * A cell shared by several instances gives each of them an equal part of its value
+     * @param squareWeights, the value of a disc on each cell
+     * @return a short[], the weights of a phase
+     */
+    static short[] squareWeightTable(int[] squareWeights) {
+        int[] coverage = new int[64];
+        for (int[] cells : INSTANCES) {
+            for (int cell : cells) {
+                coverage[cell]++;
+            }
+        }
+
+        short[] table = new short[TABLE_SIZE];
+        for (int p = 0; p < PATTERNS.length; p++) {
+            int[] cells = PATTERNS[p];
+            int size = power(cells.length);
+            for (int index = 0; index < size; index++) {
+                float value = 0;
+                int digits = index;
+                for (int k = 0; k < cells.length; k++) {
+                    int digit = digits % 3;
+                    digits /= 3;
+                    if (digit != 0) {
+                        float part = (float) squareWeights[cells[k]] / coverage[cells[k]];
+                        value += (digit == 1) ? part : -part;
+                    }
+                }
+                table[PATTERN_OFFSETS[p] + index] = (short) Math.round(value);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * @return 3 to the power n
+     */
+    private static int power(int n) {
+        int result = 1;
+        for (int i = 0; i < n; i++) {
+            result *= 3;
+        }
+        return result;
+    }
+}
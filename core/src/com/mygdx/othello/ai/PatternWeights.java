@@ -0,0 +1,187 @@
+package com.mygdx.othello.ai;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/**
+ * This class holds the weights of the PatternEvaluation for each game phase : the tables of the
+ * patterns, written for black, and the weights of the mobility and of the parity
+ * They are trained offline on self-play games. When no weight file is found, the default
+ * weights give the same evaluation as the square weights of the Search
+ *
+ * File format, big-endian : the int MAGIC, the number of phases, the size of a table, then for
+ * each phase its mobility weight, its parity weight and its table (shorts)
+ */
+public class PatternWeights {
+
+    /** Name of the weight file in the assets */
+    public static final String FILE = "pattern_weights.bin";
+
+    /** First int of a weight file, "PAT1" */
+    private static final int MAGIC = 0x50415431;
+
+    /** Weight of a legal move in the default weights */
+    private static final int DEFAULT_MOBILITY_WEIGHT = 8;
+
+    /** Default weights, built once */
+    private static PatternWeights defaults;
+
+    /** Table of the patterns of each phase */
+    private short[][] tables;
+
+    /** Weight of a legal move of each phase */
+    private short[] mobilityWeights;
+
+    /** Weight of having the last move of each phase */
+    private short[] parityWeights;
+
+    /**
+     * Creates weights from their arrays
+     * @param tables, the table of the patterns of each phase
+     * @param mobilityWeights, the weight of a legal move of each phase
+     * @param parityWeights, the weight of having the last move of each phase
+     */
+    public PatternWeights(short[][] tables, short[] mobilityWeights, short[] parityWeights) {
+        this.tables = tables;
+        this.mobilityWeights = mobilityWeights;
+        this.parityWeights = parityWeights;
+    }
+
+    /**
+     * Returns the default weights, the square weights of the Search and its mobility weight
+     * @return a PatternWeights
+     */
+    public static synchronized PatternWeights defaults() {
+        if (defaults == null) {
+            short[] table = PatternEvaluation.squareWeightTable(Search.SQUARE_WEIGHTS);
+            short[][] tables = new short[PatternEvaluation.PHASES][];
+            short[] mobilityWeights = new short[PatternEvaluation.PHASES];
+            for (int phase = 0; phase < tables.length; phase++) {
+                tables[phase] = table;
+                mobilityWeights[phase] = DEFAULT_MOBILITY_WEIGHT;
+            }
+            defaults = new PatternWeights(tables, mobilityWeights, new short[PatternEvaluation.PHASES]);
+        }
+        return defaults;
+    }
+
+    /**
+     * Loads a weight file, the default weights are returned if it is missing or invalid
+     * @param file, the weight file
+     * @return a PatternWeights
+     */
+    public static PatternWeights load(FileHandle file) {
+        if (!file.exists()) {
+            System.err.println("No pattern weights " + file.path() + ", using the default weights");
+            return defaults();
+        }
+        try {
+            return fromBytes(file.readBytes());
+        } catch (RuntimeException e) {
+            System.err.println("Invalid pattern weights " + file.path() + " : " + e.getMessage());
+            return defaults();
+        }
+    }
+
+    /**
+     * Reads weights from the content of a weight file
+     * @param data, the content of the file
+     * @return a PatternWeights
+     */
+    public static PatternWeights fromBytes(byte[] data) {
+        if (data.length < 12 || readInt(data, 0) != MAGIC) {
+            throw new IllegalArgumentException("Not a weight file.");
+        }
+        int phases = readInt(data, 4);
+        int tableSize = readInt(data, 8);
+        if (phases != PatternEvaluation.PHASES || tableSize != PatternEvaluation.TABLE_SIZE) {
+            throw new IllegalArgumentException("Weights of other patterns.");
+        }
+        if (data.length != 12 + 2L * phases * (2 + tableSize)) {
+            throw new IllegalArgumentException("Truncated weight file.");
+        }
+
+        short[][] tables = new short[phases][tableSize];
+        short[] mobilityWeights = new short[phases];
+        short[] parityWeights = new short[phases];
+        int offset = 12;
+        for (int phase = 0; phase < phases; phase++) {
+            mobilityWeights[phase] = readShort(data, offset);
+            parityWeights[phase] = readShort(data, offset + 2);
+            offset += 4;
+            short[] table = tables[phase];
+            for (int i = 0; i < tableSize; i++) {
+                table[i] = readShort(data, offset);
+                offset += 2;
+            }
+        }
+        return new PatternWeights(tables, mobilityWeights, parityWeights);
+    }
+
+    /**
+     * Writes the weights in the format read by fromBytes
+     * @return a byte[], the content of a weight file
+     */
+    public byte[] toBytes() {
+        int tableSize = PatternEvaluation.TABLE_SIZE;
+        byte[] data = new byte[12 + 2 * tables.length * (2 + tableSize)];
+        writeInt(data, 0, MAGIC);
+        writeInt(data, 4, tables.length);
+        writeInt(data, 8, tableSize);
+        int offset = 12;
+        for (int phase = 0; phase < tables.length; phase++) {
+            writeShort(data, offset, mobilityWeights[phase]);
+            writeShort(data, offset + 2, parityWeights[phase]);
+            offset += 4;
+            short[] table = tables[phase];
+            for (int i = 0; i < tableSize; i++) {
+                writeShort(data, offset, table[i]);
+                offset += 2;
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Returns the table of the patterns of a phase
+     * @param phase, between 0 and PatternEvaluation.PHASES - 1
+     * @return a short[], indexed by PatternEvaluation.getFeature()
+     */
+    public short[] getTable(int phase) { return tables[phase]; }
+
+    public int getMobilityWeight(int phase) { return mobilityWeights[phase]; }
+
+    public int getParityWeight(int phase) { return parityWeights[phase]; }
+
+    /**
+     * @return the big-endian int stored at offset
+     */
+    private static int readInt(byte[] data, int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    /**
+     * @return the big-endian short stored at offset
+     */
+    private static short readShort(byte[] data, int offset) {
+        return (short) (((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF));
+    }
+
+    /**
+     * Stores a big-endian int at offset
+     */
+    private static void writeInt(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Stores a big-endian short at offset
+     */
+    private static void writeShort(byte[] data, int offset, int value) {
+        data[offset] = (byte) (value >>> 8);
+        data[offset + 1] = (byte) value;
+    }
+}
@@ -0,0 +1,360 @@
+package com.mygdx.othello.ai;
+
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.othello.models.BitBoard;
+import com.mygdx.othello.models.Zobrist;
+
+/**
+ * This class looks for the best move of an 8x8 position with a negamax alpha-beta search
+ * The search is deepened iteratively until the maximum depth or the time budget is reached.
+ * The results are kept in a transposition table, so that each iteration, and the search of
+ * the next turns, starts with the best moves already found
+ */
+public class Search {
+
+    /** Score larger than any evaluation, bounds of the initial alpha-beta window */
+    public static final int INFINITY = 1000000;
+
+    /** Score of a won game, the final disc differential is added to it */
+    public static final int WIN = 100000;
+
+    /** Maximum number of plies of a search, passes included */
+    private static final int MAX_PLY = 128;
+
+    /** Maximum number of legal moves in a position */
+    private static final int MAX_MOVES = 64;
+
+    /** Number of nodes searched between two checks of the clock */
+    private static final int CLOCK_MASK = 4095;
+
+    /** Static value of a disc on each cell, corners are good and the cells next to them are bad */
+    static final int[] SQUARE_WEIGHTS = {
+            100, -20,  10,   5,   5,  10, -20, 100,
+            -20, -50,  -2,  -2,  -2,  -2, -50, -20,
+             10,  -2,  -1,  -1,  -1,  -1,  -2,  10,
+              5,  -2,  -1,  -1,  -1,  -1,  -2,   5,
+              5,  -2,  -1,  -1,  -1,  -1,  -2,   5,
+             10,  -2,  -1,  -1,  -1,  -1,  -2,  10,
+            -20, -50,  -2,  -2,  -2,  -2, -50, -20,
+            100, -20,  10,   5,   5,  10, -20, 100
+    };
+
+    /** Ordering score given to the best move stored in the transposition table */
+    private static final int HASH_MOVE_SCORE = 1 << 20;
+
+    /** Results of the positions already searched */
+    private TranspositionTable table;
+
+    /** Static evaluation, updated along the moves of the search */
+    private PatternEvaluation evaluation = new PatternEvaluation(PatternWeights.defaults());
+
+    /** Moves of each ply, sorted from the most to the least promising */
+    private int[][] moves = new int[MAX_PLY][MAX_MOVES];
+
+    /** Ordering score of the moves of each ply */
+    private int[][] orderScores = new int[MAX_PLY][MAX_MOVES];
+
+    /** Time at which the current search has to stop, in milliseconds */
+    private long deadline;
+
+    /** Boolean indicating if the current search ran out of time or was stopped */
+    private boolean aborted;
+
+    /** Boolean set by another thread to stop the current search as soon as possible */
+    private volatile boolean stopped;
+
+    /** Number of positions visited by the last search */
+    private long nodes;
+
+    /** Last depth fully searched by the last search */
+    private int depth;
+
+    /** Score of the best move found by the last search, from the point of view of the active player */
+    private int score;
+
+    /**
+     * Creates a search engine with its own transposition table
+     */
+    public Search() {
+        this(new TranspositionTable());
+    }
+
+    /**
+     * Creates a search engine using the given transposition table
+     * @param table, the transposition table
+     */
+    public Search(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * Returns the transposition table of the search
+     * @return a TranspositionTable
+     */
+    public TranspositionTable getTable() { return table; }
+
+    /**
+     * Sets the weights of the static evaluation
+     * @param weights, the weights, shared with the other searches
+     */
+    public void setWeights(PatternWeights weights) { evaluation.setWeights(weights); }
+
+    /**
+     * Returns the best move of the player p against the player o
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param player, the active player number, used to hash the positions
+     * @param maxDepth, the depth of the last iteration
+     * @param timeBudget, the time given to the search, in milliseconds
+     * @return an Integer, the 'absolute' position of the best move, -1 if p has no legal move
+     */
+    public int findBestMove(long p, long o, int player, int maxDepth, long timeBudget) {
+        stopped = false;
+        table.newSearch();
+        return search(p, o, player, 1, maxDepth, TimeUtils.millis() + timeBudget);
+    }
+
+    /**
+     * Stops the current search, called from another thread
+     * The search returns the best move of the last iteration as soon as it sees the request
+     */
+    public void stop() {
+        stopped = true;
+    }
+
+    /**
+     * Allows the next search started with search() to run, after a call to stop()
+     */
+    void resume() {
+        stopped = false;
+    }
+
+    /**
+     * Iterative deepening search of the best move, without starting a new table generation
+     * Used directly by the threads of a ParallelSearch, which share the table
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param player, the active player number
+     * @param firstDepth, the depth of the first iteration
+     * @param maxDepth, the depth of the last iteration
+     * @param deadline, the time at which the search stops, in milliseconds
+     * @return an Integer, the 'absolute' position of the best move, -1 if p has no legal move
+     */
+    int search(long p, long o, int player, int firstDepth, int maxDepth, long deadline) {
+        nodes = 0;
+        depth = 0;
+        score = 0;
+        aborted = false;
+        this.deadline = deadline;
+
+        long legal = BitBoard.legalMoves(p, o);
+        if (legal == 0) {
+            return -1;
+        }
+        long hash = (player == 1) ? Zobrist.hash(p, o, 1) : Zobrist.hash(o, p, 2);
+        int count = orderMoves(legal, p, o, 0, true, TranspositionTable.move(table.probe(hash)));
+        int[] rootMoves = moves[0];
+        if (count == 1) {
+            return rootMoves[0];
+        }
+
+        int empties = 64 - Long.bitCount(p | o);
+        int opponent = (player == 1) ? 2 : 1;
+        if (player == 1) {
+            evaluation.setPosition(p, o);
+        } else {
+            evaluation.setPosition(o, p);
+        }
+        for (int d = Math.min(firstDepth, maxDepth); d <= maxDepth; d++) {
+            int alpha = -INFINITY;
+            int best = -1;
+            for (int i = 0; i < count; i++) {
+                int pos = rootMoves[i];
+                long flips = BitBoard.flips(pos, p, o);
+                evaluation.play(pos, flips, player);
+                int value = -negamax(o & ~flips, p | flips | (1L << pos), opponent,
+                        hash ^ Zobrist.moveKey(pos, flips, player), d - 1, -INFINITY, -alpha, 1);
+                evaluation.undo(pos, flips, player);
+                if (aborted) {
+                    break;
+                }
+                if (value > alpha) {
+                    alpha = value;
+                    best = i;
+                }
+            }
+
+            //Keep the best move found, even by an unfinished iteration, and search it first next time
+            if (best >= 0) {
+                int bestMove = rootMoves[best];
+                System.arraycopy(rootMoves, 0, rootMoves, 1, best);
+                rootMoves[0] = bestMove;
+                score = alpha;
+            }
+            if (aborted) {
+                break;
+            }
+            depth = d;
+            table.store(hash, d, TranspositionTable.EXACT, alpha, rootMoves[0]);
+            if (d >= empties || Math.abs(alpha) > WIN - 64) {
+                break;
+            }
+        }
+        return rootMoves[0];
+    }
+
+    /**
+     * Returns the number of positions visited by the last search
+     * @return a long
+     */
+    public long getNodes() { return nodes; }
+
+    /**
+     * Returns the last depth fully searched by the last search
+     * @return an Integer
+     */
+    public int getDepth() { return depth; }
+
+    /**
+     * Returns the score of the move found by the last search
+     * @return an Integer, positive if the active player is ahead
+     */
+    public int getScore() { return score; }
+
+    /**
+     * Negamax search with alpha-beta pruning
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param player, the active player number
+     * @param hash, the Zobrist hash of the position
+     * @param depth, the remaining depth
+     * @param alpha, the score the active player is already sure to get
+     * @param beta, the score the opposing player is already sure to get
+     * @param ply, the distance to the root of the search
+     * @return an Integer, the score of the position for the active player
+     */
+    private int negamax(long p, long o, int player, long hash, int depth, int alpha, int beta, int ply) {
+        if ((++nodes & CLOCK_MASK) == 0 && (stopped || TimeUtils.millis() >= deadline)) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        long legal = BitBoard.legalMoves(p, o);
+        int opponent = (player == 1) ? 2 : 1;
+        if (legal == 0) {
+            if (BitBoard.legalMoves(o, p) == 0) {
+                return finalScore(p, o);
+            }
+            return -negamax(o, p, opponent, hash ^ Zobrist.SIDE, depth, -beta, -alpha, ply + 1);
+        }
+        if (depth <= 0) {
+            return evaluation.evaluate(player, Long.bitCount(legal), BitBoard.mobility(o, p),
+                    64 - Long.bitCount(p | o));
+        }
+
+        //Use the result of a previous search of this position
+        long entry = table.probe(hash);
+        int hashMove = -1;
+        if (entry != 0L) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                int value = TranspositionTable.score(entry);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && value >= beta)
+                        || (bound == TranspositionTable.UPPER && value <= alpha)) {
+                    return value;
+                }
+            }
+        }
+
+        int alphaStart = alpha;
+        int count = orderMoves(legal, p, o, ply, depth > 2, hashMove);
+        int[] plyMoves = moves[ply];
+        int best = -INFINITY;
+        int bestMove = -1;
+        for (int i = 0; i < count; i++) {
+            int pos = plyMoves[i];
+            long flips = BitBoard.flips(pos, p, o);
+            evaluation.play(pos, flips, player);
+            int value = -negamax(o & ~flips, p | flips | (1L << pos), opponent,
+                    hash ^ Zobrist.moveKey(pos, flips, player), depth - 1, -beta, -alpha, ply + 1);
+            evaluation.undo(pos, flips, player);
+            if (aborted) {
+                return 0;
+            }
+            if (value > best) {
+                best = value;
+                bestMove = pos;
+                if (value > alpha) {
+                    alpha = value;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        int bound = (best >= beta) ? TranspositionTable.LOWER
+                : (best > alphaStart) ? TranspositionTable.EXACT : TranspositionTable.UPPER;
+        table.store(hash, depth, bound, best, bestMove);
+        return best;
+    }
+
+    /**
+     * Stores the legal moves of the ply in moves[ply], sorted from the most to the least promising
+     * @param legal, the legal moves mask
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param ply, the distance to the root of the search
+     * @param mobility, true to also order the moves by the opponent's mobility after them
+     * @param hashMove, the best move stored in the transposition table, searched first, -1 if none
+     * @return an Integer, the number of legal moves
+     */
+    private int orderMoves(long legal, long p, long o, int ply, boolean mobility, int hashMove) {
+        int[] plyMoves = moves[ply];
+        int[] scores = orderScores[ply];
+        int count = 0;
+        while (legal != 0) {
+            int pos = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+
+            int value = SQUARE_WEIGHTS[pos];
+            if (pos == hashMove) {
+                value += HASH_MOVE_SCORE;
+            } else if (mobility) {
+                long flips = BitBoard.flips(pos, p, o);
+                value -= 16 * BitBoard.mobility(o & ~flips, p | flips | (1L << pos));
+            }
+
+            //Insertion sort, the lists are short
+            int i = count++;
+            while (i > 0 && scores[i - 1] < value) {
+                scores[i] = scores[i - 1];
+                plyMoves[i] = plyMoves[i - 1];
+                i--;
+            }
+            scores[i] = value;
+            plyMoves[i] = pos;
+        }
+        return count;
+    }
+
+    /**
+     * Score of a finished game
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @return an Integer, WIN plus the disc differential if p wins, minus WIN plus it if p loses
+     */
+    static int finalScore(long p, long o) {
+        int diff = Long.bitCount(p) - Long.bitCount(o);
+        if (diff > 0) {
+            return WIN + diff;
+        } else if (diff < 0) {
+            return -WIN + diff;
+        }
+        return 0;
+    }
+}
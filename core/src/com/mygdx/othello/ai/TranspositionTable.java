@@ -0,0 +1,131 @@
+package com.mygdx.othello.ai;
+
+/**
+ * This class stores the results of the positions already searched, indexed by their Zobrist hash
+ * Each entry is packed in two longs (the hash and the data), so the table is made of two arrays
+ * allocated once and no object is created per entry
+ * A slot is replaced when the new result is at least as deep, or when it belongs to an older search
+ * The table can be shared by several threads without locks : the key of a slot is stored XORed
+ * with its data, so a slot half written by another thread does not match any hash and is ignored
+ */
+public class TranspositionTable {
+
+    /** Bound of a stored score : the score is exact */
+    public static final int EXACT = 3;
+
+    /** Bound of a stored score : the real score is greater or equal (beta cutoff) */
+    public static final int LOWER = 2;
+
+    /** Bound of a stored score : the real score is lower or equal (no move raised alpha) */
+    public static final int UPPER = 1;
+
+    /** Default number of entries, as a power of 2 (2^18 entries = 4 MB) */
+    public static final int DEFAULT_BITS = 18;
+
+    /** Hash of the position stored in each slot, XORed with the data of the slot */
+    private long[] keys;
+
+    /** Packed score, depth, bound, best move and generation of each slot */
+    private long[] data;
+
+    /** Mask applied to a hash to find its slot */
+    private int mask;
+
+    /** Generation of the current search, entries of older generations are replaced first */
+    private int generation;
+
+    /**
+     * Creates a table of 2^DEFAULT_BITS entries
+     */
+    public TranspositionTable() {
+        this(DEFAULT_BITS);
+    }
+
+    /**
+     * Creates a table of 2^bits entries
+     * @param bits, the base 2 logarithm of the number of entries
+     */
+    public TranspositionTable(int bits) {
+        keys = new long[1 << bits];
+        data = new long[1 << bits];
+        mask = (1 << bits) - 1;
+    }
+
+    /**
+     * Starts a new search, the results of the previous ones are kept but may be replaced
+     */
+    public void newSearch() {
+        generation = (generation + 1) & 0xFF;
+    }
+
+    /**
+     * Empties the table
+     */
+    public void clear() {
+        for (int i = 0; i <= mask; i++) {
+            keys[i] = 0L;
+            data[i] = 0L;
+        }
+    }
+
+    /**
+     * Returns the packed data stored for a position
+     * @param hash, the Zobrist hash of the position
+     * @return a long, 0 if the position is not stored, to decode with score/depth/bound/move
+     */
+    public long probe(long hash) {
+        int index = (int) hash & mask;
+        long entry = data[index];
+        return (keys[index] ^ entry) == hash ? entry : 0L;
+    }
+
+    /**
+     * Stores the result of a search, if the slot holds a less valuable result
+     * @param hash, the Zobrist hash of the position
+     * @param depth, the depth of the search
+     * @param bound, EXACT, LOWER or UPPER
+     * @param score, the score found
+     * @param move, the best move found, -1 if none
+     */
+    public void store(long hash, int depth, int bound, int score, int move) {
+        int index = (int) hash & mask;
+        long old = data[index];
+        if (old != 0L && (keys[index] ^ old) != hash && generation(old) == generation && depth(old) > depth) {
+            return;
+        }
+        long entry = (score & 0xFFFFFFFFL)
+                | ((long) depth << 32)
+                | ((long) bound << 40)
+                | ((long) (move + 1) << 42)
+                | ((long) generation << 50);
+        keys[index] = hash ^ entry;
+        data[index] = entry;
+    }
+
+    /**
+     * @param entry, packed data returned by probe
+     * @return an Integer, the stored score
+     */
+    public static int score(long entry) { return (int) entry; }
+
+    /**
+     * @param entry, packed data returned by probe
+     * @return an Integer, the depth of the stored search
+     */
+    public static int depth(long entry) { return (int) (entry >>> 32) & 0xFF; }
+
+    /**
+     * @param entry, packed data returned by probe
+     * @return an Integer, EXACT, LOWER or UPPER
+     */
+    public static int bound(long entry) { return (int) (entry >>> 40) & 0x3; }
+
+    /**
+     * @param entry, packed data returned by probe
+     * @return an Integer, the stored best move, -1 if none
+     */
+    public static int move(long entry) { return ((int) (entry >>> 42) & 0xFF) - 1; }
+
+    /** Generation of the search that stored the entry */
+    private static int generation(long entry) { return (int) (entry >>> 50) & 0xFF; }
+}
@@ -5,15 +5,25 @@ import com.badlogic.gdx.Input;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.Timer;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import com.mygdx.othello.ai.AIConfig;
+import com.mygdx.othello.ai.EndgameSolver;
+import com.mygdx.othello.ai.OpeningBook;
+import com.mygdx.othello.ai.ParallelSearch;
+import com.mygdx.othello.ai.PatternWeights;
+import com.mygdx.othello.models.BitBoard;
 import com.mygdx.othello.models.Board;
 import com.mygdx.othello.models.Cell;
+import com.mygdx.othello.models.MoveList;
 import com.mygdx.othello.views.GameScreen;
 import com.mygdx.othello.views.MenuScreen;
 import com.mygdx.othello.views.RulesScreen;
 
 import java.util.ArrayList;
-import java.util.Map;
 
 /**
  * This class manipulates the game logic while playing as well as all the touch input on the screen
@@ -21,6 +31,59 @@ import java.util.Map;
  */
 public class AIGameController extends GameController {
 
+    /** Minimum time between the move of the player and the one of the AI, so that the flips of the
+     * player can be seen, in seconds. The AI thinks during this time */
+    private static final float AI_MOVE_DELAY = 1.5f;
+
+    /** Time given to the flip animation before the cells are enabled again, in seconds */
+    private static final float FLIP_DELAY = 1f;
+
+    /** Longest search on the player's time, so that a device left alone does not drain its
+     * battery, in milliseconds */
+    private static final long PONDER_TIME = 30000;
+
+    /** Weights of the evaluation, read from the assets by the first AI game */
+    private static PatternWeights weights;
+
+    /** Opening book, read from the assets by the first AI game using it */
+    private static OpeningBook openingBook;
+
+    /** Settings of the AI, depending on the difficulty level */
+    private AIConfig config;
+
+    /** Search engine of the AI, its transposition table is kept from one turn to the next */
+    private ParallelSearch search;
+
+    /** Exact solver of the last moves of the game */
+    private EndgameSolver solver;
+
+    /** Moves of the beginning of the game, played without searching */
+    private OpeningBook book;
+
+    /** Thread running the search, so that the render thread is never blocked */
+    private AsyncExecutor aiExecutor;
+
+    /** Boolean indicating if the AI is choosing its move, from the move of the player until it is played */
+    private boolean thinking;
+
+    /** Time at which the AI started thinking, in milliseconds */
+    private long thinkingStart;
+
+    /** Result of the search running on aiExecutor, null if the move was chosen without searching */
+    private AsyncResult<Integer> aiResult;
+
+    /** Move chosen without searching, played once AI_MOVE_DELAY is elapsed */
+    private int chosenMove;
+
+    /** Boolean indicating if the last search was replaced by the exact solver */
+    private boolean solved;
+
+    /** Boolean indicating if the AI searches the position of the player while the player thinks */
+    private boolean pondering;
+
+    /** Boolean indicating if the game was left, the AI must not play any more */
+    private boolean cancelled;
+
     /**
      * @param gsm GameStateManager
      * @param gameScreen
@@ -29,6 +92,199 @@ public class AIGameController extends GameController {
     public AIGameController(GameStateManager gsm, GameScreen gameScreen, Board board) {
         super(gsm,gameScreen,board);
         Gdx.input.setCatchBackKey(true);
+        config = AIConfig.fromPreferences(prefs);
+        search = new ParallelSearch(config.getSearchThreads());
+        search.setWeights(getWeights());
+        solver = new EndgameSolver();
+        book = config.useBook() ? getOpeningBook() : OpeningBook.empty();
+        aiExecutor = new AsyncExecutor(1);
+        startPondering();
+    }
+
+    /**
+     * Returns the weights of the evaluation, the weight file is only read once as it never changes
+     * @return a PatternWeights
+     */
+    private static synchronized PatternWeights getWeights() {
+        if (weights == null) {
+            weights = PatternWeights.load(Gdx.files.internal(PatternWeights.FILE));
+        }
+        return weights;
+    }
+
+    /**
+     * Returns the opening book, the book file is only read once as it never changes
+     * @return an OpeningBook
+     */
+    private static synchronized OpeningBook getOpeningBook() {
+        if (openingBook == null) {
+            openingBook = OpeningBook.load(Gdx.files.internal(OpeningBook.FILE));
+        }
+        return openingBook;
+    }
+
+    /**
+     * Searches the position of the player on the executor of the AI while the player thinks
+     * Every reply of the player is searched, so the search of the move of the AI then finds the
+     * positions it needs in the transposition table, whichever move the player chose
+     * Nothing is done if the AI does not search the next position : other board sizes, or the
+     * exact solver taking over
+     */
+    private void startPondering() {
+        if (!config.usePondering() || cancelled || pondering || board.getBoardSize() != BitBoard.SIZE
+                || board.getPlayerTurn() != 1 || board.getMoves(1).isEmpty()
+                || board.getEmptyCount() - 1 <= config.getEndgameEmpties()) {
+            return;
+        }
+        pondering = true;
+        final long p = board.getDiscs(1);
+        final long o = board.getDiscs(2);
+        //The reply of the AI is searched one ply deeper than the position of the player
+        final int depth = config.getMaxDepth() + 1;
+        search.startPondering();
+        aiExecutor.submit(new AsyncTask<Void>() {
+            @Override
+            public Void call() {
+                search.ponder(p, o, 1, depth, PONDER_TIME);
+                Gdx.app.debug("AI", "Pondered Depth " + search.getDepth() + " Nodes " + search.getNodes());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Stops the search on the player's time, the search of the AI runs once it has returned
+     */
+    private void stopPondering() {
+        if (pondering) {
+            pondering = false;
+            search.stopPondering();
+        }
+    }
+
+    /**
+     * Starts choosing the move of the AI among its legal moves, update() plays it
+     * 8x8 games first look the position up in the opening book, otherwise they are searched with
+     * the alpha-beta engine on another thread, so that the render thread is never blocked.
+     * Near the end of the game the search is replaced by the exact solver, as long as it finishes
+     * in time. Other sizes get a random move
+     */
+    private void startAIMove() {
+        thinking = true;
+        thinkingStart = TimeUtils.millis();
+        aiResult = null;
+        if (board.getBoardSize() != BitBoard.SIZE) {
+            MoveList moves = board.getMoves(2);
+            chosenMove = moves.getPos((int) (Math.random() * moves.size()));
+            return;
+        }
+        int bookMove = book.findMove(board.getDiscs(1), board.getDiscs(2), 2);
+        if (bookMove >= 0 && board.getMoves(2).indexOf(bookMove) >= 0) {
+            Gdx.app.debug("AI", "Book move");
+            chosenMove = bookMove;
+            return;
+        }
+        final long p = board.getDiscs(2);
+        final long o = board.getDiscs(1);
+        final boolean endgame = board.getEmptyCount() <= config.getEndgameEmpties();
+        aiResult = aiExecutor.submit(new AsyncTask<Integer>() {
+            @Override
+            public Integer call() {
+                int move = -1;
+                if (endgame) {
+                    move = solver.solve(p, o, 2, config.getTimeBudget());
+                }
+                solved = move >= 0;
+                if (!solved) {
+                    move = search.findBestMove(p, o, 2, config.getMaxDepth(), config.getTimeBudget());
+                }
+                return move;
+            }
+        });
+    }
+
+    /**
+     * Plays the move of the AI once it is chosen and shown for AI_MOVE_DELAY at least
+     * Called on the render thread
+     */
+    private void finishAIMove() {
+        if (aiResult != null && !aiResult.isDone()) {
+            return;
+        }
+        if (TimeUtils.timeSinceMillis(thinkingStart) < (long) (AI_MOVE_DELAY * 1000)) {
+            return;
+        }
+        thinking = false;
+        int pos = chosenMove;
+        if (aiResult != null) {
+            pos = aiResult.get();
+            aiResult = null;
+            if (solved) {
+                Gdx.app.debug("AI", "Solved Nodes " + solver.getNodes() + " Final score " + solver.getScore());
+            } else {
+                Gdx.app.debug("AI", "Depth " + search.getDepth() + " Nodes " + search.getNodes()
+                        + " Score " + search.getScore() + " Threads " + search.getThreads());
+            }
+        }
+        applyAIMove(pos);
+    }
+
+    /**
+     * Returns true while the AI is choosing its move, shown by the GameScreen
+     * @return a boolean
+     */
+    public boolean isThinking() { return thinking; }
+
+    /**
+     * Places the pown of the AI, then enables the board again once the flips are over
+     * @param pos, the 'absolute' position of the move
+     */
+    private void applyAIMove(int pos) {
+        if (board.placeDisc(pos, board.getPlayerTurn(), board.getMoves(2))) {
+            gameScreen.getBoardButtons().get(pos).setDisabled(true);
+            board.setPlayerTurn(1);
+            AIGameController.super.endGame(false);
+        }
+        enableEmptyCells(FLIP_DELAY);
+        startPondering();
+    }
+
+    /**
+     * Enables the buttons of the empty cells after a delay
+     * @param delay, in seconds
+     */
+    private void enableEmptyCells(float delay) {
+        Timer.schedule(new Timer.Task(){
+            @Override
+            public void run() {
+                ArrayList<Cell> emptyCells = new ArrayList<Cell>(board.getCells());
+                ArrayList<Cell> activeCells = new ArrayList<Cell>();
+                activeCells.addAll(board.getActivePlayerCells(1)); activeCells.addAll(board.getActivePlayerCells(2));
+                emptyCells.removeAll(activeCells);
+                for (Cell c : emptyCells) {
+                    gameScreen.getBoardButtons().get(c.getPos()).setDisabled(false);
+                }
+            }
+        }, delay);
+    }
+
+    /**
+     * Stops the search of the AI, its move will not be played
+     */
+    public void cancelSearch() {
+        cancelled = true;
+        thinking = false;
+        pondering = false;
+        solver.cancel();
+        search.cancel();
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        cancelSearch();
+        aiExecutor.dispose();
+        search.dispose();
     }
 
     @Override
@@ -36,12 +292,16 @@ public class AIGameController extends GameController {
 
         // If the button is part of the game cells
         if (actor instanceof ImageButton) {
+            //The AI is still thinking about the previous move
+            if (thinking) {
+                return;
+            }
             int playerTurn = board.getPlayerTurn();
-            Map<Cell, ArrayList<Cell>> legalMoves = board.getLegalMoves(playerTurn);
             if (playerTurn == 1) {
                 System.out.println("Player");
                 int index = gameScreen.getBoardButtons().indexOf(actor);
-                if (board.placeDisc(index, board.getPlayerTurn(), legalMoves)) {
+                if (board.placeDisc(index, board.getPlayerTurn(), board.getMoves(playerTurn))) {
+                    stopPondering();
                     ((ImageButton) actor).setDisabled(true);
                     board.setPlayerTurn(2);
                     super.endGame(false);
@@ -59,57 +319,22 @@ public class AIGameController extends GameController {
             }
 
 
-            float delay = 1.5f; // seconds
-
-            //Play as the AI : Choose a random move from the legal moves
-            Timer.schedule(new Timer.Task(){
-                @Override
-                public void run() {
-                    if (board.getPlayerTurn() == 2 ) {
-                        Map<Cell, ArrayList<Cell>> legalMoves = board.getLegalMoves(2);
-                        System.out.println("IA");
-                        int i = 0;
-                        int size = legalMoves.size();
-                        System.out.println(size);
-                        int randomNumber = (int) (Math.random() * (size));
-                        System.out.println(randomNumber);
-                        for (Cell c : legalMoves.keySet()) {
-                            if (i == randomNumber) {
-                                System.out.println(c.getPos());
-                                if (board.placeDisc(c.getPos(), board.getPlayerTurn(), legalMoves)) {
-                                    gameScreen.getBoardButtons().get(c.getPos()).setDisabled(true);
-                                    board.setPlayerTurn(1);
-                                    AIGameController.super.endGame(false);
-                                }
-                                break;
-                            }
-                            i++;
-                        }
-                    }
-                }
-            }, delay);
-
-            //Wait for the AI pawns to flip and then able them again
-            delay = 2.5f; // seconds
-            Timer.schedule(new Timer.Task(){
-                @Override
-                public void run() {
-                    ArrayList<Cell> emptyCells = new ArrayList<Cell>(board.getCells());
-                    ArrayList<Cell> activeCells = new ArrayList<Cell>();
-                    activeCells.addAll(board.getActivePlayerCells(1)); activeCells.addAll(board.getActivePlayerCells(2));
-                    emptyCells.removeAll(activeCells);
-                    for (Cell c : emptyCells) {
-                        gameScreen.getBoardButtons().get(c.getPos()).setDisabled(false);
-                    }
-                }
-            }, delay);
+            //Play as the AI : the search starts at once, its move is played by update()
+            if (!cancelled && board.getPlayerTurn() == 2 && !board.getMoves(2).isEmpty()) {
+                startAIMove();
+            } else {
+                enableEmptyCells(AI_MOVE_DELAY + FLIP_DELAY);
+                startPondering();
+            }
 
         // If the button is an 'option' button
         } else if (actor instanceof TextButton) {
             if (((TextButton) actor).getText().toString().equals("Main Menu")) {
+                cancelSearch();
                 this.saveData(false);
                 gsm.set(new MenuScreen(gsm));
             } else if (((TextButton)actor).getText().toString().equals("Rules")) {
+                cancelSearch();
                 this.saveData(false);
                 gsm.set(new RulesScreen(gsm, RulesScreen.GAME_SCREEN));
             }
@@ -118,12 +343,15 @@ public class AIGameController extends GameController {
 
     @Override
     public void update(float dt) {
-
+        if (thinking && !cancelled) {
+            finishAIMove();
+        }
     }
 
     @Override
     public boolean keyDown(int keycode) {
         if (keycode == Input.Keys.BACK || keycode == Input.Keys.ESCAPE) {
+            cancelSearch();
             this.saveData(false);
             gsm.set(new MenuScreen(gsm));
         }
@@ -0,0 +1,116 @@
+package com.mygdx.othello.controllers;
+
+import com.badlogic.gdx.assets.AssetManager;
+
+/**
+ * This class shares the textures, atlases and skins of the application between the Screens
+ * An asset is loaded by the first Screen asking for it and unloaded when the last Screen using
+ * it releases it. As a new Screen is created before the previous one is disposed, the assets
+ * they both use stay on the GPU during the switch
+ * Assets can also be preloaded in the background, they then stay loaded until the app is closed
+ */
+public class GameAssets {
+
+    /** Atlas packed from headless/atlas/ui : the background, the buttons and the title */
+    public static final String UI_ATLAS = "ui.atlas";
+
+    /** Skin of the labels, sliders and dialogs */
+    public static final String SKIN = "skin_directory/uiskin.json";
+
+    /** Board background texture */
+    public static final String BOARD_BACKGROUND = "wood_board_bg.jpg";
+
+    /** Images of the board cells, read as Pixmaps to bake the grid into the cell textures */
+    public static final String CELL_DARK = "green_carpet_square.jpg";
+    public static final String CELL_BRIGHT = "green_carpet_square_bright.jpg";
+
+    /** Background music */
+    public static final String MUSIC = "music.mp3";
+
+    /** Screenshots of the Rules Screen */
+    public static final String[] RULES_SCREENSHOTS = {"rules1.png", "rules2.png", "rules_start.png", "rules_end.png"};
+
+    /** Name of the overall background region of the UI_ATLAS */
+    public static final String BACKGROUND = "Stone_bright_lv1";
+
+    /** Name of the button region of the UI_ATLAS */
+    public static final String BUTTON = "WoodenButton";
+
+    /** Name of the pressed button region of the UI_ATLAS */
+    public static final String BUTTON_PRESSED = "WoodenButton_dark";
+
+    /** Name of the title region of the UI_ATLAS */
+    public static final String TITLE = "MainMenu";
+
+    /** Longest time spent loading the preloaded assets at each frame, in milliseconds */
+    private static final int UPDATE_TIME = 8;
+
+    /** Loads the assets and counts the Screens using each of them */
+    private AssetManager manager;
+
+    public GameAssets() {
+        manager = new AssetManager();
+    }
+
+    /**
+     * Returns an asset, loaded now if it is not loaded yet
+     * Each call must be matched with a call to release() once the asset is not used any more
+     * @param fileName, the internal path of the asset
+     * @param type, the class of the asset
+     * @return a T, the loaded asset
+     */
+    public <T> T get(String fileName, Class<T> type) {
+        manager.load(fileName, type);
+        manager.finishLoadingAsset(fileName);
+        return manager.get(fileName, type);
+    }
+
+    /**
+     * Starts loading an asset in the background, it is then kept loaded until dispose()
+     * The loading goes on at each call to update()
+     * @param fileName, the internal path of the asset
+     * @param type, the class of the asset
+     */
+    public void preload(String fileName, Class<?> type) {
+        manager.load(fileName, type);
+    }
+
+    /**
+     * Goes on loading the preloaded assets for at most UPDATE_TIME, called at each frame
+     * @return a boolean, true once all the assets are loaded
+     */
+    public boolean update() {
+        return manager.update(UPDATE_TIME);
+    }
+
+    /**
+     * Returns true while preloaded assets are not loaded yet
+     * @return a boolean
+     */
+    public boolean isLoading() {
+        return !manager.isFinished();
+    }
+
+    /**
+     * Returns the part of the queued assets already loaded
+     * @return a float, between 0 and 1
+     */
+    public float getProgress() {
+        return manager.getProgress();
+    }
+
+    /**
+     * Releases an asset returned by get(), it is disposed once no Screen uses it
+     * @param fileName, the internal path of the asset
+     */
+    public void release(String fileName) {
+        manager.unload(fileName);
+    }
+
+    /**
+     * Disposes all the assets, used or not
+     */
+    public void dispose() {
+        manager.dispose();
+    }
+}
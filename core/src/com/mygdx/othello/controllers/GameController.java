@@ -16,7 +16,6 @@ import com.mygdx.othello.views.GameScreen;
 import com.mygdx.othello.views.MenuScreen;
 import com.mygdx.othello.views.RulesScreen;
 import java.util.ArrayList;
-import java.util.Map;
 
 /**
  * This class manages the game logic while playing as well as all the touch inputs on the screen
@@ -35,6 +34,9 @@ public class GameController extends AbstractController implements InputProcessor
     /** Boolean that indicates in the games is ending (used for the end game in time mode) */
     private boolean endGame;
 
+    /** Task rendering the screen each second so that the clocks are updated, null if not in time mode */
+    private Timer.Task clockTick;
+
     /**
      * Initialize the controller
      * @param gsm
@@ -47,6 +49,26 @@ public class GameController extends AbstractController implements InputProcessor
         this.board = board;
         this.prefs = Gdx.app.getPreferences("My preferences");
         endGame = false;
+
+        //The screen is not rendered continuously, the clocks need a frame each second
+        if ((board.getTimeWhite() > 0 || board.getTimeBlack() > 0) && !board.isAI()) {
+            clockTick = Timer.schedule(new Timer.Task() {
+                @Override
+                public void run() {
+                    Gdx.graphics.requestRendering();
+                }
+            }, 1, 1);
+        }
+    }
+
+    /**
+     * Stops rendering the screen each second for the clocks
+     */
+    private void stopClock() {
+        if (clockTick != null) {
+            clockTick.cancel();
+            clockTick = null;
+        }
     }
 
     /**
@@ -55,18 +77,17 @@ public class GameController extends AbstractController implements InputProcessor
      */
     public void endGame(boolean timeMode) {
         int playerTurn = board.getPlayerTurn();
-        Map<Cell, ArrayList<Cell>> legalMoves = board.getLegalMoves(playerTurn);
 
         //Check if there are still moves to play or if the time is elapsed
-        if (legalMoves.isEmpty()) {
-            Skin skin = new Skin(Gdx.files.internal("skin_directory/uiskin.json"));
+        if (board.getMoves(playerTurn).isEmpty()) {
+            Skin skin = gameScreen.getDialogSkin();
             int cellSize = gameScreen.getPointSize();
             int width = 6 * cellSize; int height = 3*cellSize;
             DialogScreen dialog = new DialogScreen("", skin, gsm, gameScreen, board, width, height, false);
             Gdx.input.setInputProcessor(gameScreen.getDialogStage());
             dialog.show(gameScreen.getDialogStage());
         } else if (timeMode) {
-            Skin skin = new Skin(Gdx.files.internal("skin_directory/uiskin.json"));
+            Skin skin = gameScreen.getDialogSkin();
             int cellSize = gameScreen.getPointSize();
             int width = 6 * cellSize; int height = 3*cellSize;
             DialogScreen dialog = new DialogScreen("", skin, gsm, gameScreen, board, width, height, true);
@@ -90,7 +111,7 @@ public class GameController extends AbstractController implements InputProcessor
         //Save the cells value
         int[] temp = new int[board.getBoardSize()*board.getBoardSize()];
         for (int i=0; i<temp.length; i++) {
-            temp[i] = board.getCells().get(i).getValue();
+            temp[i] = board.getValue(i);
         }
         gsm.gameData.setCellsValue(temp);
 
@@ -115,6 +136,13 @@ public class GameController extends AbstractController implements InputProcessor
         gsm.saveData();
     }
 
+    /**
+     * Releases the resources of the controller, called when the GameScreen is disposed
+     */
+    public void dispose() {
+        stopClock();
+    }
+
     @Override
     /**
      * This method is used to update the remaining time for both
@@ -134,6 +162,7 @@ public class GameController extends AbstractController implements InputProcessor
             }
             if (board.getTimeBlack() <= 0 || board.getTimeWhite() <= 0) {
                 endGame = true;
+                stopClock();
                 this.endGame(true);
             }
         }
@@ -144,13 +173,12 @@ public class GameController extends AbstractController implements InputProcessor
         // If the button is part of the game cells
         if (actor instanceof ImageButton) {
             int playerTurn = board.getPlayerTurn();
-            Map<Cell, ArrayList<Cell>> legalMoves = board.getLegalMoves(playerTurn);
             int index = gameScreen.getBoardButtons().indexOf(actor);
 
             int oppositePlayer = (playerTurn == 1 ? 2 : 1);
 
             //Places a pown at the touch location
-            if (board.placeDisc(index, board.getPlayerTurn(), legalMoves)) {
+            if (board.placeDisc(index, board.getPlayerTurn(), board.getMoves(playerTurn))) {
                 ((ImageButton) actor).setDisabled(true);
 
                 //Disable all buttons on the board while the flip animation is running
@@ -179,15 +207,15 @@ public class GameController extends AbstractController implements InputProcessor
                 board.setPlayerTurn(oppositePlayer);
 
                 //Check if the game ends
-                legalMoves = board.getLegalMoves(oppositePlayer);
+                int legalMoves = board.getMoves(oppositePlayer).size();
                 int nextPlayer = (oppositePlayer == 1 ? 2 : 1);
-                Map<Cell, ArrayList<Cell>> legalMovesNextPlayer = board.getLegalMoves(nextPlayer);
+                int legalMovesNextPlayer = board.getMoves(nextPlayer).size();
 
-                if (legalMoves.isEmpty() && legalMovesNextPlayer.isEmpty()) {
+                if (legalMoves == 0 && legalMovesNextPlayer == 0) {
                     //Check if the game ends
                     //timeMode = false because we check the score condition and not the time condition
                     this.endGame(false);
-                } else if (legalMoves.isEmpty() && !legalMovesNextPlayer.isEmpty()) {
+                } else if (legalMoves == 0 && legalMovesNextPlayer != 0) {
                     board.setPlayerTurn(nextPlayer);
                 }
             }
@@ -26,6 +26,9 @@ public class GameStateManager {
     /** Ensures that there is only one instance of GameStateManager */
     private static GameStateManager ourInstance = new GameStateManager();
 
+    /** Textures, atlases and skins shared by the Screens, created again after dispose() */
+    private GameAssets assets;
+
     /** Variable use to load/save the game data */
     public GameData gameData;
 
@@ -67,6 +70,28 @@ public class GameStateManager {
         System.err.println("Load Data");
     }
 
+    /**
+     * Returns the assets shared by the Screens
+     * @return a GameAssets
+     */
+    public GameAssets getAssets() {
+        if (assets == null) {
+            assets = new GameAssets();
+        }
+        return assets;
+    }
+
+    /** Dispose all the Screens and the assets, called when the app is closed */
+    public void dispose() {
+        while (!abstractScreens.isEmpty()) {
+            pop();
+        }
+        if (assets != null) {
+            assets.dispose();
+            assets = null;
+        }
+    }
+
     /** Ensures that the GameStateManager instance is unique */
     public static GameStateManager getInstance() { return ourInstance; }
 
@@ -116,6 +141,7 @@ public class GameStateManager {
 
     /** Called the update method of the active Controller */
     public void update(float dt) {
+        getAssets().update();
         abstractScreens.peek().getController().update(dt);
     }
 
@@ -124,4 +150,17 @@ public class GameStateManager {
         abstractScreens.peek().render(sb);
     }
 
+    /** Called the resize method of every Screen of the Stack */
+    public void resize(int width, int height) {
+        for (AbstractScreen abstractScreen : abstractScreens) {
+            abstractScreen.resize(width, height);
+        }
+    }
+
+    /** Returns true while the active Screen must be rendered again without any input, or while
+     * assets are loaded in the background */
+    public boolean isAnimating() {
+        return abstractScreens.peek().isAnimating() || getAssets().isLoading();
+    }
+
 }
@@ -0,0 +1,58 @@
+package com.mygdx.othello.controllers;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.audio.Music;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.mygdx.othello.MyOthelloGame;
+import com.mygdx.othello.views.MenuScreen;
+
+/**
+ * This class loads the assets of the Menu Screen in the background while the Loading Screen is
+ * shown, then switches to the Menu Screen and starts loading the assets of the Game Screen
+ */
+public class LoadingController extends AbstractController {
+
+    /** Time at which the loading started, in milliseconds */
+    private long loadingStart;
+
+    /**
+     * Initialize the Loading Controller and queues the assets used by every Screen
+     * @param gsm The GameStateManager
+     */
+    public LoadingController(GameStateManager gsm) {
+        super(gsm);
+        loadingStart = TimeUtils.millis();
+        GameAssets assets = gsm.getAssets();
+        assets.preload(GameAssets.UI_ATLAS, TextureAtlas.class);
+        assets.preload(GameAssets.SKIN, Skin.class);
+        assets.preload(GameAssets.MUSIC, Music.class);
+    }
+
+    /**
+     * Returns the part of the assets already loaded
+     * @return a float, between 0 and 1
+     */
+    public float getProgress() {
+        return gsm.getAssets().getProgress();
+    }
+
+    @Override
+    public void update(float dt) {
+        GameAssets assets = gsm.getAssets();
+        if (assets.isLoading()) {
+            return;
+        }
+        Gdx.app.debug("Assets", "Loaded in " + TimeUtils.timeSinceMillis(loadingStart) + " ms");
+        MyOthelloGame.playMusic(assets.get(GameAssets.MUSIC, Music.class));
+        gsm.set(new MenuScreen(gsm));
+
+        //The Game Screen assets are loaded while the player is in the menu
+        assets.preload(GameAssets.BOARD_BACKGROUND, Texture.class);
+        assets.preload(GameAssets.CELL_DARK, Pixmap.class);
+        assets.preload(GameAssets.CELL_BRIGHT, Pixmap.class);
+    }
+}
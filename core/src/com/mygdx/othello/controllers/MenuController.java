@@ -1,5 +1,6 @@
 package com.mygdx.othello.controllers;
 
+import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.mygdx.othello.models.Board;
@@ -34,12 +35,12 @@ public class MenuController extends AbstractController {
     public void changed(ChangeEvent event, Actor actor) {
         if (((TextButton)actor).getText().toString().equals("Player VS Player")) {
             isAI = false;
-            gsm.set(new GameScreen(gsm, new Board(GameScreen.BOARD_SIZE, isAI)));
+            gsm.set(new GameScreen(gsm, new Board(GameScreen.getBoardSize(Gdx.app.getPreferences("My preferences")), isAI)));
         } else if (((TextButton)actor).getText().toString().equals("Settings")) {
             gsm.set(new SettingsScreen(gsm));
         } else if (((TextButton)actor).getText().toString().equals("Player VS AI")) {
             isAI = true;
-            gsm.set(new GameScreen(gsm, new Board(GameScreen.BOARD_SIZE, isAI)));
+            gsm.set(new GameScreen(gsm, new Board(GameScreen.getBoardSize(Gdx.app.getPreferences("My preferences")), isAI)));
         } else if (((TextButton)actor).getText().toString().equals("Resume Game")) {
             isAI = gsm.gameData.isAI();
             gsm.set(new GameScreen(gsm, new Board(gsm.gameData)));
@@ -13,6 +13,8 @@ import com.badlogic.gdx.scenes.scene2d.ui.Slider;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.badlogic.gdx.scenes.scene2d.utils.ChangeListener;
 import com.mygdx.othello.MyOthelloGame;
+import com.mygdx.othello.ai.AIConfig;
+import com.mygdx.othello.views.GameScreen;
 import com.mygdx.othello.views.MenuScreen;
 
 /**
@@ -39,6 +41,15 @@ public class SettingsController extends AbstractController implements InputProce
     /** Text displayed next to the slider for the Time Mode setting */
     private Label timeModeLabel;
 
+    /** Button for the AI difficulty level */
+    private TextButton AILevel;
+
+    /** Button for the number of threads of the AI search */
+    private TextButton AIThreads;
+
+    /** Button for the width and height of the board */
+    private TextButton BoardSize;
+
     /** Import the preference */
     private Preferences prefs;
 
@@ -54,10 +65,14 @@ public class SettingsController extends AbstractController implements InputProce
      * @param MusicOff Button to put the music On/Off
      * @param handicapLabel Button for the handicap
      * @param timeModeLabel Button for the time mode
+     * @param AILevel Button for the AI difficulty level
+     * @param AIThreads Button for the number of threads of the AI search
+     * @param BoardSize Button for the width and height of the board
      */
     public SettingsController(GameStateManager gsm, TextButton LegalMove,TextButton ScoreDisplay,
                               TextButton LastFlipsDisplay,TextButton MusicOff, Label handicapLabel,
-                              Label timeModeLabel) {
+                              Label timeModeLabel, TextButton AILevel, TextButton AIThreads,
+                              TextButton BoardSize) {
         super(gsm);
         this.LegalMove = LegalMove;
         this.ScoreDisplay = ScoreDisplay;
@@ -65,6 +80,9 @@ public class SettingsController extends AbstractController implements InputProce
         this.MusicOff = MusicOff;
         this.handicapLabel = handicapLabel;
         this.timeModeLabel = timeModeLabel;
+        this.AILevel = AILevel;
+        this.AIThreads = AIThreads;
+        this.BoardSize = BoardSize;
         prefs = Gdx.app.getPreferences("My preferences");
         music = MyOthelloGame.getMusic();
     }
@@ -122,6 +140,36 @@ public class SettingsController extends AbstractController implements InputProce
                 prefs.putBoolean("IsMusicOff", false);
                 prefs.flush();
                 music.play();
+                //Button to switch to the next AI difficulty level
+            } else if (((TextButton) actor).getText().toString().startsWith("AI Level")) {
+                int level = (AIConfig.fromPreferences(prefs).getLevel() + 1) % AIConfig.LEVELS.length;
+                prefs.putInteger("aiLevel", level);
+                prefs.flush();
+                AILevel.setText("AI Level : " + AIConfig.LEVELS[level]);
+                //Button to switch to the next number of AI threads
+            } else if (((TextButton) actor).getText().toString().startsWith("AI Threads")) {
+                int threads = AIConfig.fromPreferences(prefs).getThreads();
+                int index = 0;
+                for (int i = 0; i < AIConfig.THREADS.length; i++) {
+                    if (AIConfig.THREADS[i] == threads) {
+                        index = (i + 1) % AIConfig.THREADS.length;
+                    }
+                }
+                prefs.putInteger("aiThreads", AIConfig.THREADS[index]);
+                prefs.flush();
+                AIThreads.setText("AI Threads : " + AIConfig.getThreadsName(AIConfig.THREADS[index]));
+                //Button to switch to the next board size
+            } else if (((TextButton) actor).getText().toString().startsWith("Board Size")) {
+                int size = GameScreen.getBoardSize(prefs);
+                int index = 0;
+                for (int i = 0; i < GameScreen.BOARD_SIZES.length; i++) {
+                    if (GameScreen.BOARD_SIZES[i] == size) {
+                        index = (i + 1) % GameScreen.BOARD_SIZES.length;
+                    }
+                }
+                prefs.putInteger("boardSize", GameScreen.BOARD_SIZES[index]);
+                prefs.flush();
+                BoardSize.setText("Board Size : " + GameScreen.BOARD_SIZES[index]);
                 //Button to exit to the menu screen
             } else if (((TextButton) actor).getText().toString().equals("Exit to Menu Screen")) {
                 gsm.set(new MenuScreen(gsm));
@@ -0,0 +1,271 @@
+package com.mygdx.othello.models;
+
+/**
+ * This class gathers the bitboard operations used for 8x8 games
+ * A position is represented by two longs, one for each player, where the bit n is set
+ * if the player has a pown on the cell of 'absolute' position n (n = row*8 + col)
+ */
+public final class BitBoard {
+
+    /** Width and/or height of the boards handled by the bitboard engine */
+    public static final int SIZE = 8;
+
+    /** Mask of the cells on the first column of the board */
+    public static final long FILE_A = 0x0101010101010101L;
+
+    /** Mask of the cells on the last column of the board */
+    public static final long FILE_H = 0x8080808080808080L;
+
+    /** Mask of all the cells except the ones of the first and the last column */
+    private static final long INNER_FILES = ~(FILE_A | FILE_H);
+
+    /** Mask of the cells on the first and the last row of the board */
+    private static final long EDGE_RANKS = 0xFF000000000000FFL;
+
+    /** Mask of each row of the board */
+    private static final long[] ROWS = new long[8];
+
+    /** Mask of each column of the board */
+    private static final long[] COLUMNS = new long[8];
+
+    /** Mask of each diagonal of the board, going down right */
+    private static final long[] DIAGONALS = new long[15];
+
+    /** Mask of each anti-diagonal of the board, going down left */
+    private static final long[] ANTI_DIAGONALS = new long[15];
+
+    static {
+        for (int pos = 0; pos < 64; pos++) {
+            int row = pos / 8;
+            int col = pos % 8;
+            ROWS[row] |= 1L << pos;
+            COLUMNS[col] |= 1L << pos;
+            DIAGONALS[row - col + 7] |= 1L << pos;
+            ANTI_DIAGONALS[row + col] |= 1L << pos;
+        }
+    }
+
+    private BitBoard() {
+    }
+
+    /**
+     * Returns all the legal moves of the player p against the player o
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @return a long, with a bit set for each cell where p can play
+     */
+    public static long legalMoves(long p, long o) {
+        long empty = ~(p | o);
+        long inner = o & INNER_FILES;
+        long moves = 0L;
+
+        //Left shifts : right, down, down right, down left
+        moves |= movesLeft(p, inner, 1, empty);
+        moves |= movesLeft(p, o, 8, empty);
+        moves |= movesLeft(p, inner, 9, empty);
+        moves |= movesLeft(p, inner, 7, empty);
+
+        //Right shifts : left, up, up left, up right
+        moves |= movesRight(p, inner, 1, empty);
+        moves |= movesRight(p, o, 8, empty);
+        moves |= movesRight(p, inner, 9, empty);
+        moves |= movesRight(p, inner, 7, empty);
+        return moves;
+    }
+
+    /**
+     * Returns the discs flipped when the player p plays at the position pos
+     * @param pos, the 'absolute' position of the new pown, it has to be empty
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @return a long, with a bit set for each opposing disc to flip (0 if the move is illegal)
+     */
+    public static long flips(int pos, long p, long o) {
+        long move = 1L << pos;
+        long inner = o & INNER_FILES;
+        long flipped = 0L;
+
+        flipped |= flipsLeft(move, p, inner, 1);
+        flipped |= flipsLeft(move, p, o, 8);
+        flipped |= flipsLeft(move, p, inner, 9);
+        flipped |= flipsLeft(move, p, inner, 7);
+
+        flipped |= flipsRight(move, p, inner, 1);
+        flipped |= flipsRight(move, p, o, 8);
+        flipped |= flipsRight(move, p, inner, 9);
+        flipped |= flipsRight(move, p, inner, 7);
+        return flipped;
+    }
+
+    /**
+     * Returns the number of legal moves of the player p against the player o
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @return an Integer
+     */
+    public static int mobility(long p, long o) {
+        return Long.bitCount(legalMoves(p, o));
+    }
+
+    /**
+     * Returns the discs of p that can never be flipped again
+     * A disc is stable when, in each of the 4 directions, its line is full or one of its
+     * neighbours on this line is the edge of the board or another stable disc of p.
+     * This is a lower bound : some stable discs are not found
+     * @param p, the discs of the player
+     * @param o, the discs of the other player
+     * @return a long, with a bit set for each stable disc of p
+     */
+    public static long stableDiscs(long p, long o) {
+        long filled = p | o;
+        long fullRows = fullLines(filled, ROWS);
+        long fullColumns = fullLines(filled, COLUMNS);
+        long fullDiagonals = fullLines(filled, DIAGONALS);
+        long fullAntiDiagonals = fullLines(filled, ANTI_DIAGONALS);
+
+        long stable = 0L;
+        long previous;
+        do {
+            previous = stable;
+            long horizontal = fullRows | FILE_A | FILE_H
+                    | ((stable << 1) & ~FILE_A) | ((stable >>> 1) & ~FILE_H);
+            long vertical = fullColumns | EDGE_RANKS | (stable << 8) | (stable >>> 8);
+            long diagonal = fullDiagonals | FILE_A | FILE_H | EDGE_RANKS
+                    | ((stable << 9) & ~FILE_A) | ((stable >>> 9) & ~FILE_H);
+            long antiDiagonal = fullAntiDiagonals | FILE_A | FILE_H | EDGE_RANKS
+                    | ((stable << 7) & ~FILE_H) | ((stable >>> 7) & ~FILE_A);
+            stable = p & horizontal & vertical & diagonal & antiDiagonal;
+        } while (stable != previous);
+        return stable;
+    }
+
+    /**
+     * Applies one of the 8 symmetries of the board to a discs mask
+     * The bit 4 of the symmetry swaps the rows and the columns, then the bit 2 reverses the rows
+     * and the bit 1 reverses the columns, 0 is the identity
+     * @param x, the discs mask
+     * @param symmetry, the symmetry, between 0 and 7
+     * @return a long, the transformed mask
+     */
+    public static long symmetry(long x, int symmetry) {
+        if ((symmetry & 4) != 0) {
+            x = transpose(x);
+        }
+        if ((symmetry & 2) != 0) {
+            x = Long.reverseBytes(x);
+        }
+        if ((symmetry & 1) != 0) {
+            x = mirror(x);
+        }
+        return x;
+    }
+
+    /**
+     * Reverts symmetry(x, symmetry)
+     * @param x, the transformed discs mask
+     * @param symmetry, the symmetry, between 0 and 7
+     * @return a long, the original mask
+     */
+    public static long inverseSymmetry(long x, int symmetry) {
+        if ((symmetry & 1) != 0) {
+            x = mirror(x);
+        }
+        if ((symmetry & 2) != 0) {
+            x = Long.reverseBytes(x);
+        }
+        if ((symmetry & 4) != 0) {
+            x = transpose(x);
+        }
+        return x;
+    }
+
+    /**
+     * @return the mask with the columns in reverse order
+     */
+    private static long mirror(long x) {
+        x = ((x >>> 1) & 0x5555555555555555L) | ((x & 0x5555555555555555L) << 1);
+        x = ((x >>> 2) & 0x3333333333333333L) | ((x & 0x3333333333333333L) << 2);
+        return ((x >>> 4) & 0x0F0F0F0F0F0F0F0FL) | ((x & 0x0F0F0F0F0F0F0F0FL) << 4);
+    }
+
+    /**
+     * @return the mask with the rows and the columns swapped, the cell n = row*8 + col moves to col*8 + row
+     */
+    private static long transpose(long x) {
+        long t = 0x0F0F0F0F00000000L & (x ^ (x << 28));
+        x ^= t ^ (t >>> 28);
+        t = 0x3333000033330000L & (x ^ (x << 14));
+        x ^= t ^ (t >>> 14);
+        t = 0x5500550055005500L & (x ^ (x << 7));
+        return x ^ t ^ (t >>> 7);
+    }
+
+    /**
+     * @return the union of the lines entirely filled
+     */
+    private static long fullLines(long filled, long[] lines) {
+        long full = 0L;
+        for (long line : lines) {
+            if ((filled & line) == line) {
+                full |= line;
+            }
+        }
+        return full;
+    }
+
+    /**
+     * Propagates the discs of p along the opponent's discs towards the higher positions
+     * @return the empty cells closing a line of opponent's discs
+     */
+    private static long movesLeft(long p, long mask, int dir, long empty) {
+        long x = (p << dir) & mask;
+        x |= (x << dir) & mask;
+        x |= (x << dir) & mask;
+        x |= (x << dir) & mask;
+        x |= (x << dir) & mask;
+        x |= (x << dir) & mask;
+        return (x << dir) & empty;
+    }
+
+    /**
+     * Propagates the discs of p along the opponent's discs towards the lower positions
+     * @return the empty cells closing a line of opponent's discs
+     */
+    private static long movesRight(long p, long mask, int dir, long empty) {
+        long x = (p >>> dir) & mask;
+        x |= (x >>> dir) & mask;
+        x |= (x >>> dir) & mask;
+        x |= (x >>> dir) & mask;
+        x |= (x >>> dir) & mask;
+        x |= (x >>> dir) & mask;
+        return (x >>> dir) & empty;
+    }
+
+    /**
+     * Walks from the move towards the higher positions
+     * @return the opponent's discs enclosed between the move and a disc of p, 0 if none
+     */
+    private static long flipsLeft(long move, long p, long mask, int dir) {
+        long flipped = 0L;
+        long x = move << dir;
+        while ((x & mask) != 0) {
+            flipped |= x;
+            x <<= dir;
+        }
+        return (x & p) != 0 ? flipped : 0L;
+    }
+
+    /**
+     * Walks from the move towards the lower positions
+     * @return the opponent's discs enclosed between the move and a disc of p, 0 if none
+     */
+    private static long flipsRight(long move, long p, long mask, int dir) {
+        long flipped = 0L;
+        long x = move >>> dir;
+        while ((x & mask) != 0) {
+            flipped |= x;
+            x >>>= dir;
+        }
+        return (x & p) != 0 ? flipped : 0L;
+    }
+}
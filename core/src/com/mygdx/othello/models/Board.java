@@ -14,21 +14,30 @@ import java.util.Map;
  */
 public class Board {
 
-    /** ArrayList of all cells on the board */
+    /** State of each cell of the board, 0 = empty, 1 = black pown, 2 = white pown */
+    private byte[] values;
+
+    /** Views of the cells of the board, created at the first call to getCells */
     private ArrayList<Cell> cells;
 
     /** The width and/or height of the board*/
     private int boardSize;
 
-    /** Variable used to memorize the cells to flip after the checking of a player's legal moves */
-    private ArrayList<Cell> tempFlips1 = new ArrayList<Cell>();
+    /** Rays of each cell for this board size, walked by the move generator */
+    private Rays rays;
 
-    /** Variable used to memorize the cells to flip after the checking of a player's legal moves */
-    private ArrayList<Cell> tempFlips2 = new ArrayList<Cell>();
+    /** Variable used to memorize the cells to flip after the checking of a player's move */
+    private int[] flipBuffer;
 
-    /** Variable used to store the last cells effectively flipped */
+    /** Variable used to store the last cells flipped by placeDisc or before the loading of a game */
     private ArrayList<Cell> cellsToFlip;
 
+    /** Last flipped cells returned by getLastFlips, built from the undo stack after a makeMove */
+    private ArrayList<Cell> lastFlips = new ArrayList<Cell>();
+
+    /** Version of the position lastFlips was built for */
+    private int lastFlipsVersion = -1;
+
     /** Number of cells on the board */
     private int totalBoardSize;
 
@@ -44,74 +53,147 @@ public class Board {
     /** Time left for white player in Time Mode */
     private float timeWhite;
 
-    /** Score */
-    private ArrayList<Integer> score = new ArrayList<Integer>();
+    /** Number of player 1's powns on the board */
+    private int blackScore;
+
+    /** Number of player 2's powns on the board */
+    private int whiteScore;
+
+    /** Version of the position, incremented each time a disc is placed or the player turn changes */
+    private int version;
+
+    /** Legal moves of each player (index player - 1), kept until the position changes */
+    private MoveList[] cachedMoves = new MoveList[2];
+
+    /** Version of the position the cached legal moves of each player were generated for */
+    private int[] cachedVersions = {-1, -1};
 
     /** Preferences of the game */
     private Preferences prefs;
 
+    /** Boolean indicating if the bitboard engine is used, i.e. if the board is 8x8 */
+    private boolean bitboard;
+
+    /** Discs of player 1 (black) when the bitboard engine is used, bit n set if the cell n is black */
+    private long blackDiscs;
+
+    /** Discs of player 2 (white) when the bitboard engine is used, bit n set if the cell n is white */
+    private long whiteDiscs;
+
+    /** Multi-word bitset engine used when the bitboard one is not, i.e. if the board is not 8x8 */
+    private WideBitBoard wide;
+
+    /** Discs of player 1 (black) when the multi-word engine is used, bit n set if the cell n is black */
+    private long[] blackWide;
+
+    /** Discs of player 2 (white) when the multi-word engine is used, bit n set if the cell n is white */
+    private long[] whiteWide;
+
+    /** Legal moves computed by the multi-word engine, bit n set if the cell n is a legal move */
+    private long[] wideMoves;
+
+    /** Zobrist hash of the position (cells' values and player turn), updated at each move */
+    private long hash;
+
+    /** 'Position' given to makeMove to pass the turn */
+    public static final int PASS = -1;
+
+    /** Number of moves played with makeMove and not undone yet */
+    private int undoSize;
+
+    /** Position of each move of the undo stack, PASS for a pass */
+    private int[] undoPos;
+
+    /** Player who played each move of the undo stack */
+    private int[] undoPlayer;
+
+    /** Index in undoFlips of the first cell flipped by each move of the undo stack */
+    private int[] undoFlipsStart;
+
+    /** 'Absolute' positions of the cells flipped by the moves of the undo stack */
+    private int[] undoFlips;
+
+    /** Number of positions stored in undoFlips */
+    private int undoFlipsSize;
+
     /**
      * Creates a board of boardSize x boardSize dimensions
-     * The board is represented by an ArrayList of Cells, each cell taking a value among {0,1,2}
+     * The board is represented by an array of bytes, each cell taking a value among {0,1,2}
      * according to its state.
      * 0 : if the cell is empty ; 1 : if a player 1's pown is on it, etc...
      * @param boardSize, width and/or height of the board
      * @param AI, a boolean indicating if the game is played versus an AI or not
      */
     public Board(int boardSize, boolean AI) {
+        this(boardSize, AI, Gdx.app.getPreferences("My preferences"));
+    }
+
+    /**
+     * Creates a board of boardSize x boardSize dimensions with the given settings
+     * Used outside of a libGDX application, where Gdx.app is not available
+     * @param boardSize, width and/or height of the board
+     * @param AI, a boolean indicating if the game is played versus an AI or not
+     * @param prefs, the preferences holding the time mode and handicap settings,
+     *               null for a standard game
+     */
+    public Board(int boardSize, boolean AI, Preferences prefs) {
         if ((boardSize%2 != 0) || boardSize == 0) {
             throw new IllegalArgumentException("Board size has to be larger than 0 and an even number.");
         }
+        if (boardSize * boardSize > Zobrist.MAX_CELLS) {
+            throw new IllegalArgumentException("Board size is too large.");
+        }
         totalBoardSize = (int) Math.pow(boardSize, 2);
 
         this.AI = AI;
 
         ArrayList<Integer> startingValues = new ArrayList<Integer>(Arrays.asList(1, 2, 2, 1));
 
-        for (int i = 0; i < 2; i++){        /* Initializing scores*/
-            score.add(i,0);
-        }
 
-        cells = new ArrayList<Cell>();
+        values = new byte[totalBoardSize];
         this.boardSize = boardSize;
-
-        for (int i = 0; i < totalBoardSize; i++) {
-            cells.add(new Cell(0, i));
-        }
+        rays = Rays.forSize(boardSize);
+        flipBuffer = new int[totalBoardSize];
 
         ArrayList<Integer> temp = findMiddleSquares();
         for (int i = 0; i < temp.size(); i++) {
-            cells.get(temp.get(i)).setValue(startingValues.get(i));
+            values[temp.get(i)] = (byte) (int) startingValues.get(i);
         }
 
         //Intialize preferences
-        prefs = Gdx.app.getPreferences("My preferences");
-
-        if (prefs.getFloat("time") != 0) {
-            timeWhite = prefs.getFloat("time")*60;
-            timeBlack = prefs.getFloat("time")*60;
+        this.prefs = prefs;
+        int handicap = 0;
+        if (prefs != null) {
+            if (prefs.getFloat("time") != 0) {
+                timeWhite = prefs.getFloat("time")*60;
+                timeBlack = prefs.getFloat("time")*60;
+            }
+            handicap = (int) prefs.getFloat("handicap");
         }
 
-        for (int i=0; i<(int)prefs.getFloat("handicap"); i++) {
+        for (int i=0; i<handicap; i++) {
             if (i==0) {
-                cells.get(0).setValue(2);
+                values[0] = 2;
             } else if (i==1) {
-                cells.get(this.boardSize - 1).setValue(2);
+                values[this.boardSize - 1] = 2;
             } else if (i==2) {
-                cells.get(this.totalBoardSize - this.boardSize).setValue(2);
+                values[this.totalBoardSize - this.boardSize] = 2;
             } else if (i==3) {
-                cells.get(this.totalBoardSize - 1).setValue(2);
+                values[this.totalBoardSize - 1] = 2;
             }
         }
 
         this.playerTurn = 1;
-
+        syncBitboards();
+        computeHash();
+        initUndoStack();
+        updateScore();
     }
 
     /**
      * Constructor used to load an already saved party
      * Creates a board of boardSize x boardSize dimensions
-     * The board is represented by an ArrayList of Cells, each cell taking a value among {0,1,2}
+     * The board is represented by an array of bytes, each cell taking a value among {0,1,2}
      * according to its state.
      * 0 : if the cell is empty ; 1 : if a player 1's pown is on it, etc...
      * @param gameData, load a GamaData instance containing all major information on a game
@@ -120,9 +202,11 @@ public class Board {
         AI = gameData.isAI();
         boardSize = gameData.getBoardSize();
         totalBoardSize = gameData.getBoardSize() * gameData.getBoardSize();
-        cells = new ArrayList<Cell>();
+        rays = Rays.forSize(boardSize);
+        flipBuffer = new int[totalBoardSize];
+        values = new byte[totalBoardSize];
         for (int i=0; i<totalBoardSize; i++) {
-            cells.add(new Cell(gameData.getCellsValue()[i],i));
+            values[i] = (byte) gameData.getCellsValue()[i];
         }
 
         timeBlack = gameData.getTimeBlack(); timeWhite = gameData.getTimeWhite();
@@ -131,21 +215,125 @@ public class Board {
         if (gameData.getCellsValue()[temp.get(0)]==0) {
             ArrayList<Integer> startingValues = new ArrayList<Integer>(Arrays.asList(1, 2, 2, 1));
             for (int i = 0; i < temp.size(); i++) {
-                cells.get(temp.get(i)).setValue(startingValues.get(i));
+                values[temp.get(i)] = (byte) (int) startingValues.get(i);
             }
         }
 
         cellsToFlip = new ArrayList<Cell>();
         for (int i = 0; i<totalBoardSize; i++) {
-            if (gameData.getLastFlips()[i] == 1) { cellsToFlip.add(cells.get(i)); }
+            if (gameData.getLastFlips()[i] == 1) { cellsToFlip.add(getCells().get(i)); }
         }
 
         playerTurn = gameData.getPlayerTurn();
-        for (int i = 0; i < 2; i++){        /* Initializing scores*/
-            score.add(i,0);
+        syncBitboards();
+        computeHash();
+        initUndoStack();
+        updateScore();
+    }
+
+    /**
+     * Creates a copy of a board, the cells' states are copied with a single arraycopy
+     * The copy has an empty undo stack and no last flipped cells, the moves played on one board
+     * do not change the other
+     * @param board, the board to copy
+     */
+    public Board(Board board) {
+        AI = board.AI;
+        prefs = board.prefs;
+        boardSize = board.boardSize;
+        totalBoardSize = board.totalBoardSize;
+        rays = board.rays;
+        flipBuffer = new int[totalBoardSize];
+        values = new byte[totalBoardSize];
+        System.arraycopy(board.values, 0, values, 0, totalBoardSize);
+
+        timeBlack = board.timeBlack;
+        timeWhite = board.timeWhite;
+        playerTurn = board.playerTurn;
+        blackScore = board.blackScore;
+        whiteScore = board.whiteScore;
+        hash = board.hash;
+
+        bitboard = board.bitboard;
+        blackDiscs = board.blackDiscs;
+        whiteDiscs = board.whiteDiscs;
+        if (!bitboard) {
+            wide = new WideBitBoard(boardSize);
+            blackWide = board.blackWide.clone();
+            whiteWide = board.whiteWide.clone();
+            wideMoves = new long[wide.getWords()];
+        }
+        initUndoStack();
+    }
+
+    /**
+     * Allocates the undo stack used by makeMove/unmakeMove, large enough for a whole game
+     */
+    private void initUndoStack() {
+        undoSize = 0;
+        undoPos = new int[2 * totalBoardSize];
+        undoPlayer = new int[2 * totalBoardSize];
+        undoFlipsStart = new int[2 * totalBoardSize + 1];
+        undoFlips = new int[4 * totalBoardSize];
+        undoFlipsSize = 0;
+    }
+
+    /**
+     * Empties the undo stack, the moves played with placeDisc cannot be undone
+     */
+    private void clearUndoStack() {
+        undoSize = 0;
+        undoFlipsSize = 0;
+    }
+
+    /**
+     * Enables the bitboard engine on 8x8 boards and fills the discs masks with the cells' values
+     */
+    private void syncBitboards() {
+        setBitboardEnabled(true);
+    }
+
+    /**
+     * Switches between the bitboard engine and the multi-word one on 8x8 boards, the other board
+     * sizes always use the multi-word engine. Fills the discs masks with the cells' values
+     * Used by Perft to compare both move generators
+     * @param enabled, false to use the multi-word engine
+     */
+    void setBitboardEnabled(boolean enabled) {
+        bitboard = enabled && boardSize == BitBoard.SIZE;
+        blackDiscs = 0L;
+        whiteDiscs = 0L;
+        if (!bitboard) {
+            wide = new WideBitBoard(boardSize);
+            blackWide = new long[wide.getWords()];
+            whiteWide = new long[wide.getWords()];
+            wideMoves = new long[wide.getWords()];
+        }
+        for (int i = 0; i < totalBoardSize; i++) {
+            if (values[i] != 0) {
+                setDisc(i, values[i]);
+            }
         }
     }
 
+    /**
+     * Computes the Zobrist hash of the position from scratch
+     */
+    private void computeHash() {
+        hash = (playerTurn == 2) ? Zobrist.SIDE : 0L;
+        for (int i = 0; i < totalBoardSize; i++) {
+            if (values[i] != 0) {
+                hash ^= Zobrist.key(values[i], i);
+            }
+        }
+    }
+
+    /**
+     * Returns the Zobrist hash of the position, i.e. of the cells' values and the player turn
+     * @return a long
+     */
+    public long getHash() { return hash; }
+
     public boolean isAI() { return AI; }
 
     public void setAI(boolean mode) { this.AI = mode; }
@@ -187,492 +375,415 @@ public class Board {
      */
     public ArrayList<Cell> getActivePlayerCells(int player) {
         ArrayList<Cell> activeCells = new ArrayList<Cell>();
-        for (Cell c : cells) {
-            if (c.getValue() == player) {
-                activeCells.add(c);
+        for (int i = 0; i < totalBoardSize; i++) {
+            if (values[i] == player) {
+                activeCells.add(getCells().get(i));
             }
         }
         return activeCells;
     }
 
     /** Returns the last flipped cells
-     * @return en ArrayList<Cell>
+     * After a makeMove, they are the cells flipped by the last move of the undo stack which is
+     * not a pass, otherwise the ones flipped by placeDisc
+     * @return en ArrayList<Cell>, null if no cell has been flipped yet
      */
-    public ArrayList<Cell> getLastFlips() { return cellsToFlip; }
-
-    /**
-     * Check if putting a powns in this cell will lead to a legal move horizontally-wise
-     * Also fills the tempFlips variable with the cell to flip
-     * @param c, a potential position for the active player's pown
-     * @param player, int representing the opposing player
-     * @return a boolean, true if this position will lead to a legal move horizontally-wise
-     */
-    private boolean checkHorizontal(Cell c, int player) {
-        boolean seenOther = false;
-
-        boolean firstSearch = false;
-        boolean secondSearch = false;
-
-        Cell cell = c;
-        tempFlips1.clear();
-
-        //Iterates along the row of c, on the left side of c
-        while (true) {
-            if (c.getPos() % boardSize == 0 || (c.getPos()-1)% boardSize == 0) {
-                tempFlips1.clear();
-                break;
-            }
-            cell = moveLeft(cell);
-            if (cell == null) {
-                tempFlips1.clear();
-                break;
-            } else if (cell.getValue() == player) {
-                seenOther = true;
-                tempFlips1.add(cell);
-            } else if (cell.getValue() == 0) {
-                tempFlips1.clear();
-                break;
-            } else if (cell.getValue() == (player == 1 ? 2 : 1)){
-                if (seenOther) {
-                    firstSearch = true;
-                }
-                break;
+    public ArrayList<Cell> getLastFlips() {
+        int level = undoSize - 1;
+        while (level >= 0 && undoPos[level] == PASS) {
+            level--;
+        }
+        if (level < 0) {
+            return cellsToFlip;
+        }
+        if (lastFlipsVersion != version) {
+            int end = (level + 1 < undoSize) ? undoFlipsStart[level + 1] : undoFlipsSize;
+            lastFlips.clear();
+            for (int i = undoFlipsStart[level]; i < end; i++) {
+                lastFlips.add(getCells().get(undoFlips[i]));
             }
+            lastFlipsVersion = version;
         }
+        return lastFlips;
+    }
 
-        cell = c;
-        tempFlips2.clear();
-
-        //Iterates along the row of c, on the right side of c
-        while (true) {
-            if ((c.getPos() + 1) % boardSize == 0 || (c.getPos()+2) % boardSize ==0) {
-                tempFlips2.clear();
-                break;
+    /**
+     * Collects the cells a move of the active player would flip, walking the rays of the cell
+     * Only used with the multi-word engine, it reads the discs masks
+     * Fills the flipBuffer variable with the 'absolute' positions of the cells to flip
+     * @param pos, a potential position for the active player's pown
+     * @param player, the active player
+     * @return an Integer, the number of cells to flip, 0 if the move is illegal
+     */
+    private int collectFlips(int pos, int player) {
+        long[] p = (player == 1) ? blackWide : whiteWide;
+        long[] o = (player == 1) ? whiteWide : blackWide;
+        int count = 0;
+        for (int d = 0; d < Rays.DIRECTIONS; d++) {
+            int[] ray = rays.get(pos, d);
+
+            //Skip the opposing player's powns, the ray flips if one of ours closes them
+            int i = 0;
+            while (i < ray.length && WideBitBoard.get(o, ray[i])) {
+                i++;
             }
-            cell = moveRight(cell);
-            if (cell == null) {
-                tempFlips2.clear();
-                break;
-            } else if (cell.getValue() == player) {
-                seenOther = true;
-                tempFlips2.add(cell);
-            } else if (cell.getValue() == 0) {
-                tempFlips2.clear();
-                break;
-            } else if (cell.getValue() == (player==1 ? 2 : 1)){
-                if (seenOther) {
-                    secondSearch = true;
-                }
-                break;
+            if (i > 0 && i < ray.length && WideBitBoard.get(p, ray[i])) {
+                System.arraycopy(ray, 0, flipBuffer, count, i);
+                count += i;
             }
         }
-        return firstSearch || secondSearch;
+        return count;
     }
 
     /**
-     * Check if putting a powns in this cell will lead to a legal move vertically-wise
-     * Also fills the tempFlips variable with the cell to flip
-     * @param c, a potential position for the active player's pown
-     * @param player, int representing the opposing player
-     * @return a boolean, true if this position will lead to a legal move vertically-wise
+     * Returns all the legal moves the active player can do
+     * @param player, the active player
+     * @return an HashMap<Cell, ArrayList<Cell>>, mapping a potential new cell for the
+     * active player to all the opposing player's cells to flip
      */
-    private boolean checkVertical(Cell c, int player) {
-        boolean seenOther = false;
-
-        boolean firstSearch = false;
-        boolean secondSearch = false;
-
-        Cell cell = c;
-        tempFlips1.clear();
+    public Map<Cell, ArrayList<Cell>> getLegalMoves(int player) {
+        if (bitboard) {
+            return getBitboardLegalMoves(player);
+        }
 
-        //Iterates along the column of c, below c
-        while (true) {
-            if (c.getPos() >= (totalBoardSize - 2*boardSize) && c.getPos() < totalBoardSize) {
-                tempFlips1.clear();
-                break;
-            }
-            cell = moveDown(cell);
-            if (cell == null) {
-                tempFlips1.clear();
-                break;
-            } else if (cell.getValue() == player) {
-                seenOther = true;
-                tempFlips1.add(cell);
-            } else if (cell.getValue() == 0) {
-                tempFlips1.clear();
-                break;
-            } else if (cell.getValue() == (player==1 ? 2 : 1)){
-                if (seenOther) {
-                    firstSearch = true;
-                }
-                break;
+        Map<Cell, ArrayList<Cell>> legalMoves = new HashMap<Cell, ArrayList<Cell>>();
+        MoveList moves = getMoves(player);
+        for (int i = 0; i < moves.size(); i++) {
+            ArrayList<Cell> flips = new ArrayList<Cell>(moves.getFlipCount(i));
+            for (int j = 0; j < moves.getFlipCount(i); j++) {
+                flips.add(getCells().get(moves.getFlip(i, j)));
             }
+            legalMoves.put(getCells().get(moves.getPos(i)), flips);
         }
+        return legalMoves;
+    }
 
-        cell = c;
-        tempFlips2.clear();
+    /**
+     * Returns all the legal moves the active player can do, computed with the bitboard engine
+     * @param player, the active player
+     * @return an HashMap<Cell, ArrayList<Cell>>, mapping a potential new cell for the
+     * active player to all the opposing player's cells to flip
+     */
+    private Map<Cell, ArrayList<Cell>> getBitboardLegalMoves(int player) {
+        long p = (player == 1) ? blackDiscs : whiteDiscs;
+        long o = (player == 1) ? whiteDiscs : blackDiscs;
 
-        //Iterates along the column of c, above c
-        while (true) {
-            if (c.getPos() >= 0 && c.getPos() < 2*boardSize) {
-                tempFlips2.clear();
-                break;
-            }
-            cell = moveUp(cell);
-            if (cell == null) {
-                tempFlips2.clear();
-                break;
-            } else if (cell.getValue() == player) {
-                seenOther = true;
-                tempFlips2.add(cell);
-            } else if (cell.getValue() == 0) {
-                tempFlips2.clear();
-                break;
-            } else if (cell.getValue() == (player==1 ? 2 : 1)) {
-                if (seenOther) {
-                    secondSearch = true;
-                }
-                break;
+        Map<Cell, ArrayList<Cell>> legalMoves = new HashMap<Cell, ArrayList<Cell>>();
+        long moves = BitBoard.legalMoves(p, o);
+        while (moves != 0) {
+            int pos = Long.numberOfTrailingZeros(moves);
+            moves &= moves - 1;
+
+            long flipped = BitBoard.flips(pos, p, o);
+            ArrayList<Cell> flips = new ArrayList<Cell>(Long.bitCount(flipped));
+            while (flipped != 0) {
+                flips.add(getCells().get(Long.numberOfTrailingZeros(flipped)));
+                flipped &= flipped - 1;
             }
+            legalMoves.put(getCells().get(pos), flips);
         }
-        return firstSearch || secondSearch;
+        return legalMoves;
     }
 
     /**
-     * Check if putting a powns in this cell will lead to a legal along the left diagonal
-     * Also fills the tempFlips variable with the cell to flip
-     * @param c, a potential position for the active player's pown
-     * @param player, int representing the opposing player
-     * @return a boolean, true if this position will lead to a legal move along the left diagonal
+     * Fills a MoveList with all the legal moves the active player can do
+     * Unlike getLegalMoves, no object is allocated : the MoveList is cleared and reused
+     * @param player, the active player
+     * @param moves, the MoveList to fill, created for this board size
+     * @return an Integer, the number of legal moves
      */
-    private boolean checkDiagonalLeft(Cell c, int player) {
-        boolean seenOther = false;
-
-        boolean firstSearch = false;
-        boolean secondSearch = false;
-
-        Cell cell = c;
-        tempFlips1.clear();
-
-        //Iterate along the top left diagonal of c
-        while (true) {
-            if ((c.getPos() >= 0 && c.getPos() < boardSize) || (c.getPos() % boardSize == 0)) {
-                tempFlips1.clear();
-                break;
-            }
-            cell = moveUpLeft(cell);
-            if (cell == null) {
-                tempFlips1.clear();
-                break;
-            } else if (cell.getValue() == player) {
-                seenOther = true;
-                tempFlips1.add(cell);
-            } else if (cell.getValue() == 0) {
-                tempFlips1.clear();
-                break;
-            } else if (cell.getValue() == (player==1 ? 2 : 1)) {
-                if (seenOther) {
-                    firstSearch = true;
-                }
-                break;
+    public int generateMoves(int player, MoveList moves) {
+        moves.clear();
+        if (bitboard) {
+            long p = (player == 1) ? blackDiscs : whiteDiscs;
+            long o = (player == 1) ? whiteDiscs : blackDiscs;
+            long legal = BitBoard.legalMoves(p, o);
+            while (legal != 0) {
+                int pos = Long.numberOfTrailingZeros(legal);
+                legal &= legal - 1;
+                moves.add(pos, BitBoard.flips(pos, p, o));
             }
+            return moves.size();
         }
 
-        cell = c;
-        tempFlips2.clear();
-
-        //Iterates along the down right diagonal of c
-        while (true) {
-            if ((c.getPos() >= (totalBoardSize - boardSize)) ||  ((c.getPos() + 1) % boardSize == 0)){
-                tempFlips2.clear();
-                break;
-            }
-            cell = moveDownRight(cell);
-            if (cell == null) {
-                tempFlips2.clear();
-                break;
-            } else if (cell.getValue() == player) {
-                seenOther = true;
-                tempFlips2.add(cell);
-            } else if (cell.getValue() == 0) {
-                tempFlips2.clear();
-                break;
-            } else if (cell.getValue() == (player==1 ? 2 : 1)){
-                if (seenOther) {
-                    secondSearch = true;
+        long[] p = (player == 1) ? blackWide : whiteWide;
+        long[] o = (player == 1) ? whiteWide : blackWide;
+        wide.legalMoves(p, o, wideMoves);
+        for (int w = 0; w < wideMoves.length; w++) {
+            long legal = wideMoves[w];
+            while (legal != 0) {
+                int pos = (w << 6) + Long.numberOfTrailingZeros(legal);
+                legal &= legal - 1;
+                int count = collectFlips(pos, player);
+                moves.begin(pos);
+                for (int j = 0; j < count; j++) {
+                    moves.addFlip(flipBuffer[j]);
                 }
-                break;
+                moves.commit();
             }
         }
-        return firstSearch || secondSearch;
+        return moves.size();
     }
 
     /**
-     * Check if putting a powns in this cell will lead to a legal move along the right diagonal
-     * Also fills the tempFlips variable with the cell to flip
-     * @param c, a potential position for the active player's pown
-     * @param player, int representing the opposing player
-     * @return a boolean, true if this position will lead to a legal move along the right diagonal
+     * Places a disc at the designated position 'pos' if the move is legal
+     * Returns true if a disc is placed, return false if not
+     * The move is permanent : the moves previously played with makeMove cannot be undone anymore
+     * @param pos, the desired 'absolute' position
+     * @param player, the active player number
+     * @param moves, a MoveList filled by generateMoves for this player
+     * @return a boolean, true if a disc is placed, false in the other case
      */
-    private boolean checkDiagonalRight(Cell c, int player) {
-        boolean seenOther = false;
+    public boolean placeDisc(int pos, int player, MoveList moves) {
+        int index = moves.indexOf(pos);
+        if (index < 0) {
+            System.err.println("Invalid move.");
+            return false;
+        }
 
-        boolean firstSearch = false;
-        boolean secondSearch = false;
+        cellsToFlip = new ArrayList<Cell>(moves.getFlipCount(index));
+        for (int j = 0; j < moves.getFlipCount(index); j++) {
+            int flip = moves.getFlip(index, j);
+            values[flip] = (byte) player;
+            setDisc(flip, player);
+            hash ^= Zobrist.flipKey(flip);
+            cellsToFlip.add(getCells().get(flip));
+        }
+        values[pos] = (byte) player;
+        setDisc(pos, player);
+        hash ^= Zobrist.key(player, pos);
+        addToScore(player, cellsToFlip.size());
+        clearUndoStack();
+        version++;
+        return true;
+    }
 
-        Cell cell = c;
-        tempFlips1.clear();
+    /**
+     * Places a disc at the designated position 'pos' if the move is legal
+     * Returns true if a disc is placed, return false if not
+     * The move is permanent : the moves previously played with makeMove cannot be undone anymore
+     * @param pos, the desired 'absolute' position
+     * @param player, the active player number
+     * @param legalMoves, an HashMap with the legal moves as the keySet (Set<Cell>) and the Cells to
+     *                    flip as the mapped values.
+     * @return a boolean, true if a disc is placed, false in the other case
+     */
+    public boolean placeDisc(int pos, int player, Map<Cell, ArrayList<Cell>> legalMoves) {
 
-        //Iterates along the down left diagonal of c
-        while (true) {
-            if ((c.getPos() >= (totalBoardSize - boardSize)) || (c.getPos() % boardSize == 0)) {
-                tempFlips1.clear();
-                break;
-            }
-            cell = moveDownLeft(cell);
-            if (cell == null) {
-                tempFlips1.clear();
-                break;
-            } else if (cell.getValue() == player) {
-                seenOther = true;
-                tempFlips1.add(cell);
-            } else if (cell.getValue() == 0) {
-                tempFlips1.clear();
-                break;
-            } else if (cell.getValue() == (player==1 ? 2 : 1)) {
-                if (seenOther) {
-                    firstSearch = true;
-                }
-                break;
-            }
-        }
+        /*
+        if (!legalMoves.keySet().stream().anyMatch(o -> o.getPos() == pos)) {
+            throw new IllegalArgumentException("Invalid move.");
+        }*/
+        if (!legalMoves.keySet().contains(getCells().get(pos))) {
+            System.err.println("Invalid move.");
+            return false;
+        } else {
 
-        cell = c;
-        tempFlips2.clear();
+            for (Cell c : legalMoves.keySet()) {
+                if (c.getPos() == pos) {
+                    cellsToFlip = legalMoves.get(c);
 
-        //Iterates along the top right diagonal of c
-        while (true) {
-            if ((c.getPos() >= 0 && c.getPos() < boardSize) || ((c.getPos() + 1) % boardSize == 0)){
-                tempFlips2.clear();
-                break;
-            }
-            cell = moveUpRight(cell);
-            if (cell == null) {
-                tempFlips2.clear();
-                break;
-            } else if (cell.getValue() == player) {
-                seenOther = true;
-                tempFlips2.add(cell);
-            } else if (cell.getValue() == 0) {
-                tempFlips2.clear();
-                break;
-            } else if (cell.getValue() == (player==1 ? 2 : 1)) {
-                if (seenOther) {
-                    secondSearch = true;
+                    for (Cell c2 : cellsToFlip) {
+                        values[c2.getPos()] = (byte) player;
+                        setDisc(c2.getPos(), player);
+                        hash ^= Zobrist.flipKey(c2.getPos());
+                    }
                 }
-                break;
             }
+            values[pos] = (byte) player;
+            setDisc(pos, player);
+            hash ^= Zobrist.key(player, pos);
+            addToScore(player, cellsToFlip.size());
+            clearUndoStack();
+            version++;
+            return true;
         }
-        return firstSearch || secondSearch;
     }
 
-
     /**
-     * Returns the Cell just after c in terms of 'absolute' position
-     * If the working cell is the last cell on the row (no cell on the right) : returns null
-     * @param c, the working Cell
-     * @return a Cell
+     * Returns the discs mask of a player, only available on 8x8 boards (bitboard engine)
+     * @param player, the player number
+     * @return a long, with the bit n set if the player has a pown on the cell n
      */
-    private Cell moveRight(Cell c) {
-        if ((c.getPos() + 1)%boardSize != 0) {
-            return cells.get(c.getPos() + 1);
-        } else {
-            return null;
-        }
+    public long getDiscs(int player) {
+        return (player == 1) ? blackDiscs : whiteDiscs;
     }
 
     /**
-     * Return the Cell just before c in terms of 'absolute' position
-     * If the working cell is the first cell of the row (no cell on the left) : return null
-     * @param c, the working Cell
-     * @return a Cell
+     * Plays a move of the active player and gives the turn to the other player
+     * The move is pushed on the undo stack and can be reverted with unmakeMove.
+     * The score, the last flipped cells and the hash are kept up to date.
+     * @param pos, the 'absolute' position of the move, or PASS to pass the turn
+     * @return a boolean, false if the move is illegal (nothing is played)
      */
-    private Cell moveLeft(Cell c) {
-        if (c.getPos()%boardSize != 0) {
-            return cells.get(c.getPos() - 1);
-        } else {
-            return null;
+    public boolean makeMove(int pos) {
+        int player = playerTurn;
+        int otherPlayer = (player == 1) ? 2 : 1;
+
+        if (undoSize == undoPos.length) {
+            undoPos = Arrays.copyOf(undoPos, 2 * undoSize);
+            undoPlayer = Arrays.copyOf(undoPlayer, 2 * undoSize);
+            undoFlipsStart = Arrays.copyOf(undoFlipsStart, 2 * undoSize + 1);
         }
-    }
+        undoFlipsStart[undoSize] = undoFlipsSize;
 
-    /**
-     * Returns the Cell above c on the board
-     * If the working cell is on the first row (no cell on the top) : returns null
-     * @param c, the working Cell
-     * @return a Cell
-     */
-    private Cell moveUp(Cell c) {
-        if (c.getPos() >= boardSize) {
-            return cells.get(c.getPos() - boardSize);
-        } else {
-            return null;
+        if (pos != PASS) {
+            if (values[pos] != 0) {
+                return false;
+            }
+            if (bitboard) {
+                long p = (player == 1) ? blackDiscs : whiteDiscs;
+                long o = (player == 1) ? whiteDiscs : blackDiscs;
+                long flipped = BitBoard.flips(pos, p, o);
+                while (flipped != 0) {
+                    pushFlip(Long.numberOfTrailingZeros(flipped));
+                    flipped &= flipped - 1;
+                }
+            } else {
+                int count = collectFlips(pos, player);
+                for (int i = 0; i < count; i++) {
+                    pushFlip(flipBuffer[i]);
+                }
+            }
+            if (undoFlipsSize == undoFlipsStart[undoSize]) {
+                return false;
+            }
+
+            //Flip the cells, they stay on the undo stack as the last flips of this move
+            for (int i = undoFlipsStart[undoSize]; i < undoFlipsSize; i++) {
+                values[undoFlips[i]] = (byte) player;
+                setDisc(undoFlips[i], player);
+                hash ^= Zobrist.flipKey(undoFlips[i]);
+            }
+            values[pos] = (byte) player;
+            setDisc(pos, player);
+            hash ^= Zobrist.key(player, pos);
+
+            addToScore(player, undoFlipsSize - undoFlipsStart[undoSize]);
         }
+
+        undoPos[undoSize] = pos;
+        undoPlayer[undoSize] = player;
+        undoSize++;
+        setPlayerTurn(otherPlayer);
+        return true;
     }
 
     /**
-     * Returns the cell below c on the board
-     * If the working cell is on the last row (no cell below) : returns null
-     * @param c, the working Cell
-     * @return a Cell
+     * Reverts the last move played with makeMove, in O(number of flipped cells)
+     * The player turn, the score, the last flipped cells and the hash are restored.
      */
-    private Cell moveDown(Cell c) {
-        if (c.getPos() < totalBoardSize - boardSize) {
-            return cells.get(c.getPos() + boardSize);
-        } else {
-            return null;
+    public void unmakeMove() {
+        if (undoSize == 0) {
+            throw new IllegalStateException("No move to undo.");
         }
-    }
+        undoSize--;
+        int pos = undoPos[undoSize];
+        int player = undoPlayer[undoSize];
+        int otherPlayer = (player == 1) ? 2 : 1;
 
-    /**
-     * Returns the cell at the bottom right of c on the board
-     * Returns null if no cell can answer the query
-     * @param c, the working Cell
-     * @return a Cell
-     */
-    private Cell moveDownRight(Cell c) {
-        if (c.getPos() < totalBoardSize - boardSize - 1 && (c.getPos() + 1)%boardSize != 0) {
-            return cells.get(c.getPos() + boardSize + 1);
-        } else {
-            return null;
+        if (pos != PASS) {
+            int start = undoFlipsStart[undoSize];
+            for (int i = start; i < undoFlipsSize; i++) {
+                values[undoFlips[i]] = (byte) otherPlayer;
+                setDisc(undoFlips[i], otherPlayer);
+                hash ^= Zobrist.flipKey(undoFlips[i]);
+            }
+            values[pos] = 0;
+            clearDisc(pos);
+            hash ^= Zobrist.key(player, pos);
+
+            int flipCount = undoFlipsSize - start;
+            if (player == 1) {
+                blackScore -= flipCount + 1;
+                whiteScore += flipCount;
+            } else {
+                whiteScore -= flipCount + 1;
+                blackScore += flipCount;
+            }
+            undoFlipsSize = start;
         }
+        setPlayerTurn(player);
     }
 
     /**
-     * Returns the cell at the bottom left of c on the board
-     * Returns null if no cell can answer the query
-     * @param c, the working Cell
-     * @return a Cell
+     * Returns the number of moves played with makeMove that can still be undone
+     * @return an Integer
      */
-    private Cell moveDownLeft(Cell c) {
-        if (c.getPos() < totalBoardSize - boardSize - 1 && c.getPos()%boardSize != 0) {
-            return cells.get(c.getPos() + boardSize - 1);
-        } else {
-            return null;
-        }
-    }
+    public int getMoveCount() { return undoSize; }
 
     /**
-     * Returns the cell at the top right of c on the board
-     * Returns null if no cell can answer the query
-     * @param c, the working Cell
-     * @return a Cell
+     * Pushes a flipped cell of the move being played on the undo stack
+     * @param pos, the 'absolute' position of the flipped cell
      */
-    private Cell moveUpRight(Cell c) {
-        if (c.getPos() >= boardSize && (c.getPos() + 1)%boardSize != 0) {
-            return cells.get(c.getPos() - boardSize + 1);
-        } else {
-            return null;
+    private void pushFlip(int pos) {
+        if (undoFlipsSize == undoFlips.length) {
+            undoFlips = Arrays.copyOf(undoFlips, 2 * undoFlipsSize);
         }
+        undoFlips[undoFlipsSize++] = pos;
     }
 
     /**
-     * Returns the cell at the top left of c on the board
-     * Returns null if no cell can answer the query
-     * @param c, the working Cell
-     * @return a Cell
+     * Removes the cell 'pos' from the discs masks of the engine in use
+     * @param pos, the 'absolute' position of the emptied cell
      */
-    private Cell moveUpLeft(Cell c) {
-        if (c.getPos() > boardSize && c.getPos()%boardSize !=0) {
-            return cells.get(c.getPos() - boardSize - 1);
+    private void clearDisc(int pos) {
+        if (bitboard) {
+            long bit = 1L << pos;
+            blackDiscs &= ~bit;
+            whiteDiscs &= ~bit;
         } else {
-            return null;
+            WideBitBoard.clear(blackWide, pos);
+            WideBitBoard.clear(whiteWide, pos);
         }
     }
 
     /**
-     * Returns all the legal moves the active player can do
-     * @param player, the active player
-     * @return an HashMap<Cell, ArrayList<Cell>>, mapping a potential new cell for the
-     * active player to all the opposing player's cells to flip
+     * Mirrors a new value of the cell 'pos' in the discs masks of the engine in use
+     * @param pos, the 'absolute' position of the cell
+     * @param player, the new owner of the cell
      */
-    public Map<Cell, ArrayList<Cell>> getLegalMoves(int player) {
-
-        Map<Cell, ArrayList<Cell>> legalMoves = new HashMap<Cell, ArrayList<Cell>>();
-        ArrayList<Cell> flips = new ArrayList<Cell>();
-
-        int otherPlayer = (player == 1) ? 2 : 1;
-
-        for (Cell c : cells) {
-            if (c.isEmpty()) {
-                flips.clear();
-                if (checkHorizontal(c, otherPlayer)) {
-                    flips.addAll(tempFlips1);
-                    flips.addAll(tempFlips2);
-                }
-                if (checkVertical(c, otherPlayer)) {
-                    flips.addAll(tempFlips1);
-                    flips.addAll(tempFlips2);
-                }
-                if (checkDiagonalLeft(c, otherPlayer)) {
-                    flips.addAll(tempFlips1);
-                    flips.addAll(tempFlips2);
-                }
-                if (checkDiagonalRight(c, otherPlayer)) {
-                    flips.addAll(tempFlips1);
-                    flips.addAll(tempFlips2);
-                }
-
-                if (!flips.isEmpty()) {
-                    legalMoves.put(c, (ArrayList<Cell>) flips.clone());
-
-                }
+    private void setDisc(int pos, int player) {
+        if (bitboard) {
+            long bit = 1L << pos;
+            if (player == 1) {
+                blackDiscs |= bit;
+                whiteDiscs &= ~bit;
+            } else {
+                whiteDiscs |= bit;
+                blackDiscs &= ~bit;
             }
+        } else if (player == 1) {
+            WideBitBoard.set(blackWide, pos);
+            WideBitBoard.clear(whiteWide, pos);
+        } else {
+            WideBitBoard.set(whiteWide, pos);
+            WideBitBoard.clear(blackWide, pos);
         }
-        return legalMoves;
-
     }
 
     /**
-     * Places a disc at the designated position 'pos' if the move is legal
-     * Returns true if a disc is placed, return false if not
-     * @param pos, the desired 'absolute' position
-     * @param player, the active player number
-     * @param legalMoves, an HashMap with the legal moves as the keySet (Set<Cell>) and the Cells to
-     *                    flip as the mapped values.
-     * @return a boolean, true if a disc is placed, false in the other case
+     * Returns the board with all cell's state
+     * The cells are views of the board : their value follows the moves played
+     * @return an ArrayList<Cell>
      */
-    public boolean placeDisc(int pos, int player, Map<Cell, ArrayList<Cell>> legalMoves) {
-
-        /*
-        if (!legalMoves.keySet().stream().anyMatch(o -> o.getPos() == pos)) {
-            throw new IllegalArgumentException("Invalid move.");
-        }*/
-        if (!legalMoves.keySet().contains(cells.get(pos))) {
-            System.err.println("Invalid move.");
-            return false;
-        } else {
-
-            for (Cell c : legalMoves.keySet()) {
-                if (c.getPos() == pos) {
-                    cellsToFlip = legalMoves.get(c);
-
-                    for (Cell c2 : cellsToFlip) {
-                        c2.setValue(player);
-                    }
-                }
+    public ArrayList<Cell> getCells() {
+        if (cells == null) {
+            cells = new ArrayList<Cell>(totalBoardSize);
+            for (int i = 0; i < totalBoardSize; i++) {
+                cells.add(new Cell(values, i));
             }
-            cells.get(pos).setValue(player);
-            updateScore();
-            return true;
         }
+        return cells;
     }
 
     /**
-     * Returns the board with all cell's state
-     * @return an ArrayList<Cell>
+     * Returns the state of a cell
+     * @param pos, the 'absolute' position of the cell
+     * @return an Integer, 0 if the cell is empty, otherwise the number of the player owning it
      */
-    public ArrayList<Cell> getCells() {
-        return cells;
+    public int getValue(int pos) {
+        return values[pos];
     }
 
     /**
@@ -716,6 +827,10 @@ public class Board {
      * @param player turn
      */
     public void setPlayerTurn(int player) {
+        if (player != playerTurn) {
+            hash ^= Zobrist.SIDE;
+            version++;
+        }
         playerTurn = player;
     }
 
@@ -726,31 +841,95 @@ public class Board {
     public int getPlayerTurn() { return playerTurn; }
 
     /**
-     * Iterates through the board and updates the players' score
+     * Iterates through the board and counts the players' powns
+     * The score is then kept up to date move after move, this is only needed after a direct
+     * modification of the cells
      */
     public void updateScore() {
-        int player1Score = 0;
-        int player2Score = 0;
-        for (Cell c : cells) {
-            if (c.getValue() == 1) {
-                player1Score ++;
-                score.set(0,player1Score);
-            }
-            if (c.getValue() == 2) {
-                player2Score ++;
-                score.set(1,player2Score);
+        blackScore = 0;
+        whiteScore = 0;
+        for (int i = 0; i < totalBoardSize; i++) {
+            int value = values[i];
+            if (value == 1) {
+                blackScore++;
+            } else if (value == 2) {
+                whiteScore++;
             }
         }
     }
 
     /**
-     * Returns the players' score represented as an array with 2 elements
-     * @return an ArrayList<Integer>
+     * Updates the score after a move : the new pown and the flipped cells go to the player
+     * @param player, the player who played the move
+     * @param flipCount, the number of flipped cells
+     */
+    private void addToScore(int player, int flipCount) {
+        if (player == 1) {
+            blackScore += flipCount + 1;
+            whiteScore -= flipCount;
+        } else {
+            whiteScore += flipCount + 1;
+            blackScore -= flipCount;
+        }
+    }
+
+    /**
+     * Returns the score of a player, i.e. the number of his powns on the board
+     * @param player, the player number
+     * @return an Integer
+     */
+    public int getScore(int player) {
+        return (player == 1) ? blackScore : whiteScore;
+    }
+
+    /**
+     * Returns the number of empty cells on the board
+     * @return an Integer
      */
-    public ArrayList<Integer> getScore(){
-        return score;
+    public int getEmptyCount() {
+        return totalBoardSize - blackScore - whiteScore;
     }
 
+    /**
+     * Returns the number of legal moves of a player
+     * @param player, the player number
+     * @return an Integer
+     */
+    public int getMobility(int player) {
+        if (bitboard) {
+            return (player == 1) ? BitBoard.mobility(blackDiscs, whiteDiscs)
+                    : BitBoard.mobility(whiteDiscs, blackDiscs);
+        }
+        return (player == 1) ? wide.mobility(blackWide, whiteWide) : wide.mobility(whiteWide, blackWide);
+    }
+
+    /**
+     * Returns the legal moves of a player, generated once per position
+     * Repeated calls on an unchanged board (each frame, several times per click) cost nothing.
+     * The MoveList is owned by the board : it is overwritten once the position changes and
+     * must not be modified
+     * @param player, the player number
+     * @return a MoveList
+     */
+    public MoveList getMoves(int player) {
+        int index = player - 1;
+        if (cachedMoves[index] == null) {
+            cachedMoves[index] = new MoveList(boardSize);
+        }
+        if (cachedVersions[index] != version) {
+            generateMoves(player, cachedMoves[index]);
+            cachedVersions[index] = version;
+        }
+        return cachedMoves[index];
+    }
+
+    /**
+     * Returns the version of the position, which changes each time a disc is placed or the player
+     * turn changes
+     * @return an Integer
+     */
+    public int getVersion() { return version; }
+
     /**
      * Print the board as a String in the console
      * @return a String
@@ -760,8 +939,8 @@ public class Board {
     public String toString() {
         String boardString = "";
         int i = 1;
-        for (Cell c : cells) {
-            boardString += c.getValue();
+        for (byte value : values) {
+            boardString += value;
             if (i%boardSize == 0) {
                 boardString += "\n";
             }
@@ -1,34 +1,33 @@
 package com.mygdx.othello.models;
 
-import java.util.Objects;
-
 /**
  * This class represents a Cell on a Othello Board
+ * A Cell is a view of one entry of the board's array of states : it holds no state of its own
  */
 public class Cell {
 
-    /** int indicating the state of the cell, 0 = empty, 1 = black pawn, 2 = white pown */
-    private int value;
+    /** States of the cells of the board, 0 = empty, 1 = black pawn, 2 = white pown */
+    private final byte[] values;
 
     /** Absolute position of the Cell, 0 <= pos <= boardSize² */
-    private int pos;
+    private final int pos;
 
     /**
-     * Initialize a Cell
-     * @param value
-     * @param pos
+     * Initialize a Cell, only the Board creates them
+     * @param values, the states of the cells of the board
+     * @param pos, the absolute position of the Cell
      */
-    public Cell(int value, int pos) {
-        this.value = value;
+    Cell(byte[] values, int pos) {
+        this.values = values;
         this.pos = pos;
     }
 
-    public void setValue(int value) {
-        this.value = value;
-    }
-
+    /**
+     * Returns the state of the cell
+     * @return an Integer, 0 = empty, 1 = black pawn, 2 = white pown
+     */
     public int getValue() {
-        return this.value;
+        return values[pos];
     }
 
     public int getPos() {
@@ -40,7 +39,7 @@ public class Cell {
      * @return a boolean
      */
     public boolean isEmpty() {
-        return value == 0;
+        return values[pos] == 0;
     }
 
     @Override
@@ -53,7 +52,7 @@ public class Cell {
 
     @Override
     public int hashCode() {
-        return Objects.hash(pos);
+        return pos;
     }
 
     @Override
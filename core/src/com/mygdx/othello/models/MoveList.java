@@ -0,0 +1,151 @@
+package com.mygdx.othello.models;
+
+/**
+ * This class stores the legal moves of a player and the cells to flip for each of them
+ * in primitive arrays, so that a single instance can be filled by the Board at each turn
+ * without any allocation
+ */
+public class MoveList {
+
+    /** Number of legal moves stored */
+    private int size;
+
+    /** 'Absolute' position of each legal move */
+    private int[] positions;
+
+    /** Mask of the cells to flip for each legal move, only filled on 8x8 boards */
+    private long[] flipMasks;
+
+    /** Index in 'flips' of the first cell to flip for each legal move, flipsStart[size] ends the last one */
+    private int[] flipsStart;
+
+    /** 'Absolute' positions of the cells to flip, move after move */
+    private int[] flips;
+
+    /** Number of positions stored in 'flips' */
+    private int flipsSize;
+
+    /**
+     * Creates a MoveList able to hold all the legal moves of a boardSize x boardSize board
+     * @param boardSize, width and/or height of the board
+     */
+    public MoveList(int boardSize) {
+        int totalBoardSize = boardSize * boardSize;
+        positions = new int[totalBoardSize];
+        flipMasks = new long[totalBoardSize];
+        flipsStart = new int[totalBoardSize + 1];
+        flips = new int[4 * totalBoardSize];
+    }
+
+    /**
+     * Empties the list, the arrays are kept for the next generation
+     */
+    public void clear() {
+        size = 0;
+        flipsSize = 0;
+        flipsStart[0] = 0;
+    }
+
+    /**
+     * Returns the number of legal moves
+     * @return an Integer
+     */
+    public int size() { return size; }
+
+    /**
+     * Check if the list contains no legal move
+     * @return a boolean
+     */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns the 'absolute' position of the i-th legal move
+     * @param i, index of the move in the list
+     * @return an Integer
+     */
+    public int getPos(int i) { return positions[i]; }
+
+    /**
+     * Returns the mask of the cells flipped by the i-th legal move, only available on 8x8 boards
+     * @param i, index of the move in the list
+     * @return a long, with a bit set for each cell to flip
+     */
+    public long getFlipMask(int i) { return flipMasks[i]; }
+
+    /**
+     * Returns the number of cells flipped by the i-th legal move
+     * @param i, index of the move in the list
+     * @return an Integer
+     */
+    public int getFlipCount(int i) { return flipsStart[i + 1] - flipsStart[i]; }
+
+    /**
+     * Returns the 'absolute' position of the j-th cell flipped by the i-th legal move
+     * @param i, index of the move in the list
+     * @param j, index of the flipped cell, 0 <= j < getFlipCount(i)
+     * @return an Integer
+     */
+    public int getFlip(int i, int j) { return flips[flipsStart[i] + j]; }
+
+    /**
+     * Returns the index of the move played at the position pos
+     * @param pos, an 'absolute' position
+     * @return an Integer, -1 if pos is not a legal move
+     */
+    public int indexOf(int pos) {
+        for (int i = 0; i < size; i++) {
+            if (positions[i] == pos) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a legal move computed by the bitboard engine
+     * @param pos, the 'absolute' position of the move
+     * @param flipMask, the mask of the cells to flip
+     */
+    void add(int pos, long flipMask) {
+        begin(pos);
+        flipMasks[size] = flipMask;
+        long remaining = flipMask;
+        while (remaining != 0) {
+            addFlip(Long.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1;
+        }
+        commit();
+    }
+
+    /**
+     * Starts a candidate move, its flipped cells are then added with addFlip
+     * @param pos, the 'absolute' position of the move
+     */
+    void begin(int pos) {
+        positions[size] = pos;
+        flipMasks[size] = 0L;
+    }
+
+    /**
+     * Adds a flipped cell to the candidate move
+     * @param pos, the 'absolute' position of the flipped cell
+     */
+    void addFlip(int pos) {
+        if (flipsSize == flips.length) {
+            int[] temp = new int[2 * flips.length];
+            System.arraycopy(flips, 0, temp, 0, flipsSize);
+            flips = temp;
+        }
+        flips[flipsSize++] = pos;
+    }
+
+    /**
+     * Keeps the candidate move if it flips at least one cell, drops it otherwise
+     */
+    void commit() {
+        if (flipsSize > flipsStart[size]) {
+            size++;
+            flipsStart[size] = flipsSize;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.mygdx.othello.models;
+
+/**
+ * This class counts the positions reached after a fixed number of moves (perft), a pass counting
+ * as a move and a finished game as a single position. The counts of the start position are
+ * known, so comparing them checks the move generator, and timing them measures its speed
+ * The tree is walked with makeMove/unmakeMove, the board is left unchanged
+ */
+public class Perft {
+
+    /** Counts of the 8x8 start position, for the depths 0 to 11 */
+    public static final long[] START_COUNTS = {
+            1L, 4L, 12L, 56L, 244L, 1396L, 8200L, 55092L, 390216L, 3005288L, 24571284L, 212258800L
+    };
+
+    /** Board walked */
+    private Board board;
+
+    /** Legal moves of each ply */
+    private MoveList[] moveLists = new MoveList[0];
+
+    /** Number of nodes of the tree walked by the last count, the root excluded */
+    private long nodes;
+
+    /**
+     * @param board, the board to walk from its current position
+     */
+    public Perft(Board board) {
+        this.board = board;
+    }
+
+    /**
+     * Uses the multi-word engine (WideBitBoard, flips walked on the Rays tables) instead of the
+     * bitboard engine on 8x8 boards, the other board sizes always use the multi-word engine
+     * @param generic, true to use the multi-word engine
+     */
+    public void setGeneric(boolean generic) {
+        board.setBitboardEnabled(!generic);
+    }
+
+    /**
+     * Returns the number of positions at the given depth
+     * @param depth, the number of moves
+     * @return a long
+     */
+    public long perft(int depth) {
+        nodes = 0;
+        allocate(depth);
+        return count(depth);
+    }
+
+    /**
+     * Returns the number of positions at the given depth after each legal move of the root
+     * @param depth, the number of moves, including the root one
+     * @return an Array of long, indexed by the 'absolute' position of the root move, the last
+     * element being the pass; 0 for the moves which are not legal
+     */
+    public long[] divide(int depth) {
+        nodes = 0;
+        allocate(depth);
+        long[] counts = new long[board.getCells().size() + 1];
+        if (depth == 0) {
+            return counts;
+        }
+        MoveList moves = moveLists[depth];
+        int player = board.getPlayerTurn();
+        int count = board.generateMoves(player, moves);
+        if (count == 0) {
+            if (board.getMobility(player == 1 ? 2 : 1) != 0) {
+                board.makeMove(Board.PASS);
+                nodes++;
+                counts[counts.length - 1] = count(depth - 1);
+                board.unmakeMove();
+            }
+            return counts;
+        }
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves.getPos(i));
+            nodes++;
+            counts[moves.getPos(i)] = count(depth - 1);
+            board.unmakeMove();
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the number of nodes of the tree walked by the last count, the root excluded
+     * @return a long
+     */
+    public long getNodes() { return nodes; }
+
+    /** Creates the move lists of the plies, once for all the counts */
+    private void allocate(int depth) {
+        if (moveLists.length <= depth) {
+            MoveList[] lists = new MoveList[depth + 1];
+            for (int i = 0; i <= depth; i++) {
+                lists[i] = (i < moveLists.length) ? moveLists[i] : new MoveList(board.getBoardSize());
+            }
+            moveLists = lists;
+        }
+    }
+
+    /** Recursive count, the moves of the ply are stored in moveLists[depth] */
+    private long count(int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        MoveList moves = moveLists[depth];
+        int player = board.getPlayerTurn();
+        int count = board.generateMoves(player, moves);
+        if (count == 0) {
+            if (board.getMobility(player == 1 ? 2 : 1) == 0) {
+                return 1;
+            }
+            board.makeMove(Board.PASS);
+            nodes++;
+            long leaves = count(depth - 1);
+            board.unmakeMove();
+            return leaves;
+        }
+        if (depth == 1) {
+            nodes += count;
+            return count;
+        }
+        long leaves = 0;
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves.getPos(i));
+            nodes++;
+            leaves += count(depth - 1);
+            board.unmakeMove();
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,84 @@
+package com.mygdx.othello.models;
+
+/**
+ * This class holds the rays of a board size : for each cell and each of the 8 directions,
+ * the 'absolute' positions of the cells met when walking from the cell to the edge of the board
+ * The tables are built once per board size, so that the move generator of the boards that can
+ * not use the bitboard engine walks plain int arrays instead of checking the edges at each step
+ */
+public final class Rays {
+
+    /** Number of directions a move can flip along */
+    public static final int DIRECTIONS = 8;
+
+    /** Row step of each direction */
+    private static final int[] ROW_STEPS = {-1, -1, -1, 0, 0, 1, 1, 1};
+
+    /** Column step of each direction */
+    private static final int[] COLUMN_STEPS = {-1, 0, 1, -1, 1, -1, 0, 1};
+
+    /** Ray of the cells next to an edge, which can not flip anything */
+    private static final int[] EMPTY_RAY = new int[0];
+
+    /** Tables already built, indexed by board size */
+    private static final Rays[] TABLES = new Rays[(int) Math.sqrt(Zobrist.MAX_CELLS) + 1];
+
+    /** Ray of each cell and direction, at index pos * DIRECTIONS + direction */
+    private final int[][] rays;
+
+    /**
+     * Builds the rays of a board of boardSize x boardSize dimensions
+     * @param boardSize, width and/or height of the board
+     */
+    private Rays(int boardSize) {
+        rays = new int[boardSize * boardSize * DIRECTIONS][];
+        for (int pos = 0; pos < boardSize * boardSize; pos++) {
+            int row = pos / boardSize;
+            int col = pos % boardSize;
+            for (int d = 0; d < DIRECTIONS; d++) {
+                int length = 0;
+                int r = row + ROW_STEPS[d];
+                int c = col + COLUMN_STEPS[d];
+                while (r >= 0 && r < boardSize && c >= 0 && c < boardSize) {
+                    length++;
+                    r += ROW_STEPS[d];
+                    c += COLUMN_STEPS[d];
+                }
+
+                //A move flips at least one cell and needs one of its own behind it
+                if (length < 2) {
+                    rays[pos * DIRECTIONS + d] = EMPTY_RAY;
+                    continue;
+                }
+                int[] ray = new int[length];
+                for (int i = 0; i < length; i++) {
+                    ray[i] = (row + (i + 1) * ROW_STEPS[d]) * boardSize + col + (i + 1) * COLUMN_STEPS[d];
+                }
+                rays[pos * DIRECTIONS + d] = ray;
+            }
+        }
+    }
+
+    /**
+     * Returns the rays of a board size, built at the first call for this size
+     * @param boardSize, width and/or height of the board
+     * @return a Rays
+     */
+    public static synchronized Rays forSize(int boardSize) {
+        if (TABLES[boardSize] == null) {
+            TABLES[boardSize] = new Rays(boardSize);
+        }
+        return TABLES[boardSize];
+    }
+
+    /**
+     * Returns the cells met when walking from a cell in a direction, the cell itself excluded
+     * The ray is empty when it is too short for a move to flip along it
+     * @param pos, the 'absolute' position of the starting cell
+     * @param direction, the direction, between 0 and DIRECTIONS - 1
+     * @return an int[], the 'absolute' positions of the cells, nearest first, not to be modified
+     */
+    public int[] get(int pos, int direction) {
+        return rays[pos * DIRECTIONS + direction];
+    }
+}
@@ -0,0 +1,208 @@
+package com.mygdx.othello.models;
+
+/**
+ * This class gathers the bitset operations used for the boards that are not 8x8
+ * A position is represented by two long[], one for each player, where the bit n%64 of the word
+ * n/64 is set if the player has a pown on the cell of 'absolute' position n (n = row*size + col)
+ * Each direction is a shift of the whole bitset, the cells wrapping around to the other side of
+ * a row being masked out, so that even a 32x32 board (16 words) generates all its legal moves
+ * with a few thousand word operations
+ * An instance holds the masks of one board size and scratch bitsets : it must not be shared
+ * between threads
+ */
+public final class WideBitBoard {
+
+    /** Number of directions a move can flip along */
+    private static final int DIRECTIONS = 8;
+
+    /** Width and/or height of the board */
+    private final int boardSize;
+
+    /** Number of longs in a bitset */
+    private final int words;
+
+    /** Mask of the cells of the board, the last word is only partly used */
+    private final long[] cellsMask;
+
+    /** Shift of the positions in each direction, positive towards the higher positions */
+    private final int[] shifts;
+
+    /** Cells a bitset shifted in each direction can land on, the wrapped column excluded */
+    private final long[][] masks;
+
+    /** Scratch bitset of the empty cells */
+    private final long[] empty;
+
+    /** Scratch bitset of the opposing powns reached in the current direction */
+    private final long[] frontier;
+
+    /** Scratch bitset of the legal moves, used by mobility */
+    private final long[] legal;
+
+    /**
+     * Creates the engine of a board of boardSize x boardSize dimensions
+     * @param boardSize, width and/or height of the board
+     */
+    public WideBitBoard(int boardSize) {
+        this.boardSize = boardSize;
+        int totalBoardSize = boardSize * boardSize;
+        words = (totalBoardSize + 63) >>> 6;
+        cellsMask = new long[words];
+        long[] notFirstColumn = new long[words];
+        long[] notLastColumn = new long[words];
+        for (int pos = 0; pos < totalBoardSize; pos++) {
+            set(cellsMask, pos);
+            if (pos % boardSize != 0) {
+                set(notFirstColumn, pos);
+            }
+            if (pos % boardSize != boardSize - 1) {
+                set(notLastColumn, pos);
+            }
+        }
+
+        //A shift to the right lands on the first column when it wraps, and inversely
+        shifts = new int[] {1, -1, boardSize, -boardSize,
+                boardSize + 1, boardSize - 1, -boardSize + 1, -boardSize - 1};
+        masks = new long[][] {notFirstColumn, notLastColumn, cellsMask, cellsMask,
+                notFirstColumn, notLastColumn, notFirstColumn, notLastColumn};
+
+        empty = new long[words];
+        frontier = new long[words];
+        legal = new long[words];
+    }
+
+    /**
+     * Returns the number of longs of the bitsets of this board size
+     * @return an Integer
+     */
+    public int getWords() { return words; }
+
+    /**
+     * Returns the width and/or height of the board
+     * @return an Integer
+     */
+    public int getBoardSize() { return boardSize; }
+
+    /**
+     * Fills moves with the legal moves of the player p against the player o
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param moves, the bitset receiving the legal moves, overwritten
+     */
+    public void legalMoves(long[] p, long[] o, long[] moves) {
+        for (int i = 0; i < words; i++) {
+            empty[i] = ~(p[i] | o[i]) & cellsMask[i];
+            moves[i] = 0L;
+        }
+
+        for (int d = 0; d < DIRECTIONS; d++) {
+            int shift = shifts[d];
+            long[] mask = masks[d];
+
+            //Opposing powns next to a disc of p in this direction
+            shift(p, shift, frontier);
+            long any = 0L;
+            for (int i = 0; i < words; i++) {
+                frontier[i] &= o[i] & mask[i];
+                any |= frontier[i];
+            }
+
+            //Walk along the runs of opposing powns, an empty cell right after one is a legal move
+            while (any != 0L) {
+                shift(frontier, shift, frontier);
+                any = 0L;
+                for (int i = 0; i < words; i++) {
+                    long next = frontier[i] & mask[i];
+                    moves[i] |= next & empty[i];
+                    frontier[i] = next & o[i];
+                    any |= frontier[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of legal moves of the player p against the player o
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @return an Integer
+     */
+    public int mobility(long[] p, long[] o) {
+        legalMoves(p, o, legal);
+        return count(legal);
+    }
+
+    /**
+     * Shifts a whole bitset, the bits going past either end are lost
+     * src and dst may be the same array
+     * @param src, the bitset to shift
+     * @param shift, the number of positions, positive towards the higher positions
+     * @param dst, the bitset receiving the result
+     */
+    private void shift(long[] src, int shift, long[] dst) {
+        if (shift > 0) {
+            int wordShift = shift >>> 6;
+            int bitShift = shift & 63;
+            for (int i = words - 1; i >= 0; i--) {
+                int j = i - wordShift;
+                long word = (j >= 0) ? src[j] << bitShift : 0L;
+                if (bitShift != 0 && j > 0) {
+                    word |= src[j - 1] >>> (64 - bitShift);
+                }
+                dst[i] = word;
+            }
+        } else {
+            int wordShift = (-shift) >>> 6;
+            int bitShift = (-shift) & 63;
+            for (int i = 0; i < words; i++) {
+                int j = i + wordShift;
+                long word = (j < words) ? src[j] >>> bitShift : 0L;
+                if (bitShift != 0 && j + 1 < words) {
+                    word |= src[j + 1] << (64 - bitShift);
+                }
+                dst[i] = word;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of bits set in a bitset
+     * @param bits, the bitset
+     * @return an Integer
+     */
+    public static int count(long[] bits) {
+        int count = 0;
+        for (int i = 0; i < bits.length; i++) {
+            count += Long.bitCount(bits[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Returns true if the bit of a position is set
+     * @param bits, the bitset
+     * @param pos, the 'absolute' position
+     * @return a boolean
+     */
+    public static boolean get(long[] bits, int pos) {
+        return (bits[pos >>> 6] & (1L << pos)) != 0L;
+    }
+
+    /**
+     * Sets the bit of a position
+     * @param bits, the bitset
+     * @param pos, the 'absolute' position
+     */
+    public static void set(long[] bits, int pos) {
+        bits[pos >>> 6] |= 1L << pos;
+    }
+
+    /**
+     * Clears the bit of a position
+     * @param bits, the bitset
+     * @param pos, the 'absolute' position
+     */
+    public static void clear(long[] bits, int pos) {
+        bits[pos >>> 6] &= ~(1L << pos);
+    }
+}
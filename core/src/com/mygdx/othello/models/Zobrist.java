@@ -0,0 +1,107 @@
+package com.mygdx.othello.models;
+
+/**
+ * This class holds the random keys used to hash a position (Zobrist hashing)
+ * The hash of a position is the XOR of the key of each pown on the board, and of the SIDE key
+ * when player 2 has to play, so that it can be updated incrementally move after move
+ */
+public final class Zobrist {
+
+    /** Largest number of cells a hashed board can have (64x64) */
+    public static final int MAX_CELLS = 4096;
+
+    /** Key XORed into the hash when player 2 has to play */
+    public static final long SIDE;
+
+    /** Keys of player 1's powns, for each 'absolute' position */
+    private static final long[] BLACK = new long[MAX_CELLS];
+
+    /** Keys of player 2's powns, for each 'absolute' position */
+    private static final long[] WHITE = new long[MAX_CELLS];
+
+    /** BLACK[pos] ^ WHITE[pos], XORed into the hash when the pown at pos is flipped */
+    private static final long[] FLIP = new long[MAX_CELLS];
+
+    static {
+        //Fixed seed : the keys, and thus the hashes, are the same at each launch
+        long seed = 0x4F7468656C6C6FL;
+        for (int i = 0; i < MAX_CELLS; i++) {
+            seed = nextKey(seed);
+            BLACK[i] = mix(seed);
+            seed = nextKey(seed);
+            WHITE[i] = mix(seed);
+            FLIP[i] = BLACK[i] ^ WHITE[i];
+        }
+        SIDE = mix(nextKey(seed));
+    }
+
+    private Zobrist() {
+    }
+
+    /**
+     * Returns the key of a player's pown on a cell
+     * @param player, the player number
+     * @param pos, the 'absolute' position of the cell
+     * @return a long
+     */
+    public static long key(int player, int pos) {
+        return (player == 1) ? BLACK[pos] : WHITE[pos];
+    }
+
+    /**
+     * Returns the value XORed into the hash when the pown at pos changes color
+     * @param pos, the 'absolute' position of the cell
+     * @return a long
+     */
+    public static long flipKey(int pos) {
+        return FLIP[pos];
+    }
+
+    /**
+     * Returns the hash of an 8x8 position given as discs masks
+     * @param black, the discs of player 1
+     * @param white, the discs of player 2
+     * @param playerTurn, the player who has to play
+     * @return a long
+     */
+    public static long hash(long black, long white, int playerTurn) {
+        long hash = (playerTurn == 2) ? SIDE : 0L;
+        while (black != 0) {
+            hash ^= BLACK[Long.numberOfTrailingZeros(black)];
+            black &= black - 1;
+        }
+        while (white != 0) {
+            hash ^= WHITE[Long.numberOfTrailingZeros(white)];
+            white &= white - 1;
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the hash variation of an 8x8 move
+     * @param pos, the 'absolute' position of the move
+     * @param flips, the mask of the flipped discs
+     * @param player, the player who plays the move
+     * @return a long, to XOR into the hash of the position before the move
+     */
+    public static long moveKey(int pos, long flips, int player) {
+        long key = SIDE ^ ((player == 1) ? BLACK[pos] : WHITE[pos]);
+        while (flips != 0) {
+            key ^= FLIP[Long.numberOfTrailingZeros(flips)];
+            flips &= flips - 1;
+        }
+        return key;
+    }
+
+    /** Next state of the generator (splitmix64) */
+    private static long nextKey(long seed) {
+        return seed + 0x9E3779B97F4A7C15L;
+    }
+
+    /** Output function of the generator (splitmix64) */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
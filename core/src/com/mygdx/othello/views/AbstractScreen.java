@@ -38,6 +38,23 @@ public abstract class AbstractScreen {
      */
     public abstract void render(SpriteBatch sb);
 
+    /**
+     * Called when the size of the window changes, or when the OpenGL context is created again
+     * @param width, the new width in pixels
+     * @param height, the new height in pixels
+     */
+    public void resize(int width, int height) {
+    }
+
+    /**
+     * Returns true while the Screen changes without any input, the app only renders a new frame
+     * after an input, a Timer task or when the active Screen is animating
+     * @return a boolean
+     */
+    public boolean isAnimating() {
+        return false;
+    }
+
     /**
      * Dispose the stage, textures and font saved on the disk
      */
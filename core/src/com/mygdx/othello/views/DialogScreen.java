@@ -76,12 +76,12 @@ public class DialogScreen extends Dialog {
                 label = new Label("White loses at the clock ! \n Black wins the game", skin);
             }
         } else {
-            if (board.getScore().get(0) > board.getScore().get(1)) {
-                label = new Label("Black wins the game with "+board.getScore().get(0)+" points !", skin);
-            } else if (board.getScore().get(0) < board.getScore().get(1)){
-                label = new Label("White wins the game with "+board.getScore().get(1)+" points !", skin);
+            if (board.getScore(1) > board.getScore(2)) {
+                label = new Label("Black wins the game with "+board.getScore(1)+" points !", skin);
+            } else if (board.getScore(1) < board.getScore(2)){
+                label = new Label("White wins the game with "+board.getScore(2)+" points !", skin);
             } else {
-                label = new Label("That's a draw, each player has "+board.getScore().get(0)+ " points !", skin);
+                label = new Label("That's a draw, each player has "+board.getScore(1)+ " points !", skin);
             }
         }
 
@@ -104,7 +104,7 @@ public class DialogScreen extends Dialog {
         if (obj.equals("menu")) {
             gsm.set(new MenuScreen(gsm));
         } else {
-            gsm.set(new GameScreen(gsm, new Board(GameScreen.BOARD_SIZE,gameScreen.getIsAI())));
+            gsm.set(new GameScreen(gsm, new Board(gameScreen.getBoard().getBoardSize(),gameScreen.getIsAI())));
         }
     }
 
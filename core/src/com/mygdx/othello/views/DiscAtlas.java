@@ -0,0 +1,111 @@
+package com.mygdx.othello.views;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+
+/**
+ * This class bakes the shapes of the game screen into a single texture : the pawns, the legal
+ * moves, the last flips, the score pawns and a plain pixel for the lines. They are all drawn by
+ * the SpriteBatch in one batch instead of a ShapeRenderer pass each
+ * The shapes are white, the color of the SpriteBatch gives them their color
+ */
+public class DiscAtlas {
+
+    /** Name of the pawn region, its diameter is 2/3 of a cell */
+    public static final String DISC = "disc";
+
+    /** Name of the legal move region */
+    public static final String HINT = "hint";
+
+    /** Name of the last flip region */
+    public static final String MARKER = "marker";
+
+    /** Name of the pawn region of the score display */
+    public static final String SCORE = "score";
+
+    /** Name of the one pixel region, stretched to draw lines and rectangles */
+    public static final String PIXEL = "pixel";
+
+    /** Empty pixels between two regions, so that the linear filter does not mix them */
+    private static final int GAP = 2;
+
+    /** Regions of the baked texture, found by their name, it disposes the texture */
+    private TextureAtlas atlas;
+
+    /**
+     * Draws the shapes at the size they are shown on the screen
+     * @param cellSize, the width of a cell of the board in pixels
+     * @param pointSize, the relative distance of the GameScreen, giving the size of the score pawns
+     */
+    public DiscAtlas(int cellSize, int pointSize) {
+        String[] names = {DISC, HINT, MARKER, SCORE};
+        int[] radii = {cellSize / 3, (int) Math.ceil(cellSize / 6.5f), (int) Math.ceil(cellSize / 9f), pointSize / 3};
+
+        int width = 3 + GAP;
+        int height = 3;
+        for (int i = 0; i < radii.length; i++) {
+            radii[i] = Math.max(1, radii[i]);
+            width += 2 * radii[i] + 1 + GAP;
+            height = Math.max(height, 2 * radii[i] + 1);
+        }
+
+        Pixmap pixmap = new Pixmap(width, height, Pixmap.Format.RGBA8888);
+        pixmap.setBlending(Pixmap.Blending.None);
+        pixmap.setColor(0, 0, 0, 0);
+        pixmap.fill();
+        pixmap.setColor(Color.WHITE);
+
+        //A 3x3 block whose center is used, so that the filter only reads white pixels
+        pixmap.fillRectangle(0, 0, 3, 3);
+        int[] offsets = new int[radii.length];
+        int x = 3 + GAP;
+        for (int i = 0; i < radii.length; i++) {
+            offsets[i] = x;
+            pixmap.fillCircle(x + radii[i], radii[i], radii[i]);
+            x += 2 * radii[i] + 1 + GAP;
+        }
+
+        Texture texture = new Texture(pixmap);
+        texture.setFilter(Texture.TextureFilter.Linear, Texture.TextureFilter.Linear);
+        atlas = new TextureAtlas();
+        atlas.addRegion(PIXEL, texture, 1, 1, 1, 1);
+        for (int i = 0; i < radii.length; i++) {
+            atlas.addRegion(names[i], texture, offsets[i], 0, 2 * radii[i] + 1, 2 * radii[i] + 1);
+        }
+        pixmap.dispose();
+    }
+
+    /**
+     * Returns a region of the atlas
+     * @param name, DISC, HINT, MARKER, SCORE or PIXEL
+     * @return a TextureRegion
+     */
+    public TextureRegion getRegion(String name) { return atlas.findRegion(name); }
+
+    /**
+     * Creates the texture of a board cell with the grid drawn on its edges, so that the grid is
+     * drawn with the cells instead of line by line
+     * @param image, the image of the cell, it is not disposed
+     * @param cellSize, the width of a cell of the board in pixels
+     * @return a Texture, of cellSize x cellSize pixels
+     */
+    public static Texture createCellTexture(Pixmap image, int cellSize) {
+        Pixmap cell = new Pixmap(cellSize, cellSize, Pixmap.Format.RGBA8888);
+        cell.setBlending(Pixmap.Blending.None);
+        cell.drawPixmap(image, 0, 0, 0, 0, cellSize, cellSize);
+
+        //One pixel on each side of the edge of two cells, the 2 pixels lines of the grid
+        cell.setColor(Color.BLACK);
+        cell.drawRectangle(0, 0, cellSize, cellSize);
+        Texture texture = new Texture(cell);
+        cell.dispose();
+        return texture;
+    }
+
+    public void dispose() {
+        atlas.dispose();
+    }
+}
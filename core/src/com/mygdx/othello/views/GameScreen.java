@@ -4,35 +4,51 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
-import com.badlogic.gdx.graphics.glutils.ShapeRenderer;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.ImageButton;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
+import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.viewport.FillViewport;
 import com.mygdx.othello.controllers.AbstractController;
+import com.mygdx.othello.controllers.GameAssets;
 import com.mygdx.othello.controllers.GameController;
 import com.mygdx.othello.controllers.GameStateManager;
 import com.mygdx.othello.controllers.AIGameController;
 import com.mygdx.othello.models.Board;
 import com.mygdx.othello.models.Cell;
+import com.mygdx.othello.models.MoveList;
 
 import java.util.ArrayList;
-import java.util.Map;
 
 /**
  * This class manages the game display, i.e. the board, the pawns, the score, etc..
  */
 public class GameScreen extends AbstractScreen {
+    /** Default width and/or height of the board */
     public static final int BOARD_SIZE = 8;
 
-    /** Used for the basic renders : lines, font, etc... */
-    private ShapeRenderer sr;
+    /** Board sizes selectable in the settings, the sizes other than 8 use the multi-word engine */
+    public static final int[] BOARD_SIZES = {6, 8, 10, 12, 16, 20, 24, 32};
+
+    /** Text shown while the AI is thinking, the dots are added one by one */
+    private static final String THINKING_TEXT = "Thinking";
+
+    /** Time during which each number of dots is shown, in milliseconds */
+    private static final long THINKING_DOT_PERIOD = 400;
+
+    /** Shapes drawn by the SpriteBatch : the powns, the legal moves, the last flips and the lines */
+    private DiscAtlas discAtlas;
 
     /** The game model */
     private Board board;
@@ -61,57 +77,46 @@ public class GameScreen extends AbstractScreen {
     /** BitmapFont used in the option Buttons */
     private BitmapFont optionFont;
 
-    /** Button Texture when not pressed */
-    private Texture optionTextureNotPressed;
-
-    /** Button Texture when pressed */
-    private Texture optionTexturePressed;
-
-    /** Atlas used to store texture and font used for the option Buttons */
+    /** Atlas shared by the Screens, stores the background and the textures of the option Buttons */
     private TextureAtlas optionAtlas;
 
     /** Skin that store the optionAtlas */
     private Skin optionSkin;
 
+    /** Skin of the end game dialog box, shared by the Screens */
+    private Skin dialogSkin;
+
     /** Exit button */
     private TextButton exitButton;
 
     /** Rules button */
     private TextButton rulesButton;
 
-    /** Dark green texture used for the board cells */
-    private Texture t1;
-
-    /** ImageButton Style for the dark green cells */
-    private ImageButton.ImageButtonStyle style1;
-
-    /** Atlas that stores the dark green texture */
-    private TextureAtlas at1;
-
-    /** Stores the 1st atlas */
-    private Skin skin1;
-
-    /** Bright green texture used for the board cells */
-    private Texture t2;
+    /** Dark green image of the board cells, drawn in the backgroundCache */
+    private Pixmap cellDark;
 
-    /** ImageButton Style for the bright green cells */
-    private ImageButton.ImageButtonStyle style2;
+    /** Bright green image of the board cells, drawn in the backgroundCache */
+    private Pixmap cellBright;
 
-    /** Atlas that stores the bright green texture */
-    private TextureAtlas at2;
+    /** ImageButton Style of the cells, empty : the cells are drawn with the background */
+    private ImageButton.ImageButtonStyle cellStyle;
 
-    /** Stores the 2nd atlas */
-    private Skin skin2;
-
-    /** Array of buttons, the buttons are used for the cells display */
+    /** Array of buttons, the buttons receive the touches on the cells */
     private ArrayList<ImageButton> boardButtons;
 
     /** Overall background texture */
-    private Texture background;
+    private TextureRegion background;
 
     /** Board background texture */
     private Texture boardBackground;
 
+    /** Overall background, board background, its frame and the cells, drawn once and copied at
+     * each frame, null until the next render after a resize */
+    private FrameBuffer backgroundCache;
+
+    /** Texture of the backgroundCache, flipped to be drawn y-up */
+    private TextureRegion backgroundRegion;
+
     /** Width = Height of the cell, depends of the boardSize */
     private int cellSize;
 
@@ -159,6 +164,12 @@ public class GameScreen extends AbstractScreen {
     /** Previous player ( 1 || 2 ) */
     private int previousPlayer;
 
+    /** Layout of the thinking text with all its dots, used to center it */
+    private GlyphLayout thinkingLayout;
+
+    /** Version of the board drawn by the last render, the screen is rendered again when it changes */
+    private int renderedVersion = -1;
+
     /**
      * Initialize the Game Screen
      * @param gsm
@@ -169,13 +180,9 @@ public class GameScreen extends AbstractScreen {
         super(gsm);
         this.board = board;
         this.isAI = board.isAI();
-        board.updateScore();
         isWhite = board.getPlayerTurn() == 2;
         prefs = Gdx.app.getPreferences("My preferences");
 
-        //Used for the powns/grid renderer
-        sr = new ShapeRenderer();
-
         //Set the useful board dimensions/parameters
         horizontalPadding = 0.05f*cam.viewportWidth;
         verticalPadding = 0.05f*cam.viewportHeight;
@@ -223,28 +230,29 @@ public class GameScreen extends AbstractScreen {
         pownWidth = 2*cellSize/3;
         previousWidth = 2*cellSize/3;
 
-        //Background texture
-        background = new Texture("Stone_bright_lv1.jpg");
+        //Background texture, from the atlas shared by the Screens
+        optionAtlas = gsm.getAssets().get(GameAssets.UI_ATLAS, TextureAtlas.class);
+        background = optionAtlas.findRegion(GameAssets.BACKGROUND);
 
         //Board background/Framework texture
-        boardBackground = new Texture("wood_board_bg.jpg");
+        boardBackground = gsm.getAssets().get(GameAssets.BOARD_BACKGROUND, Texture.class);
+
+        //Skin of the end game dialog box, loaded once
+        dialogSkin = gsm.getAssets().get(GameAssets.SKIN, Skin.class);
+
+        //Powns and other shapes, baked at their size on the screen
+        discAtlas = new DiscAtlas(cellSize, pointSize);
 
         //Design of the 'option' buttons
         optionStyle = new TextButton.TextButtonStyle();
         optionFont = new BitmapFont();
         optionFont.getData().setScale(4f);
-        optionTexturePressed = new Texture("WoodenButton_dark.png");
-        optionTextureNotPressed = new Texture("WoodenButton.png");
-        optionAtlas = new TextureAtlas();
-        optionAtlas.addRegion("Pressed", optionTexturePressed, 0, 0,
-                optionTexturePressed.getWidth(), optionTexturePressed.getHeight());
-        optionAtlas.addRegion("NotPressed", optionTextureNotPressed, 0, 0,
-                optionTextureNotPressed.getWidth(), optionTextureNotPressed.getHeight());
+        thinkingLayout = new GlyphLayout(optionFont, THINKING_TEXT + "...");
         optionSkin = new Skin();
         optionSkin.addRegions(optionAtlas);
         optionStyle.font = optionFont;
-        optionStyle.up = optionSkin.getDrawable("NotPressed"); optionStyle.down = optionSkin.getDrawable("Pressed");
-        optionStyle.checked = optionSkin.getDrawable("NotPressed");
+        optionStyle.up = optionSkin.getDrawable(GameAssets.BUTTON); optionStyle.down = optionSkin.getDrawable(GameAssets.BUTTON_PRESSED);
+        optionStyle.checked = optionSkin.getDrawable(GameAssets.BUTTON);
 
         //Display of the Exit button
         exitButton = new TextButton("Main Menu", optionStyle);
@@ -258,46 +266,17 @@ public class GameScreen extends AbstractScreen {
         rulesButton.addListener(gameController);
         optionTable.add(rulesButton).expand().top().right().width(3.25f*pointSize).height(1.5f*pointSize);
 
-        //Design of the first category of button
-        style1 = new ImageButton.ImageButtonStyle();
-        t1 = new Texture("green_carpet_square.jpg");
-        at1 = new TextureAtlas();
-        at1.addRegion("button1", t1, 0, 0,  cellSize, cellSize);
-        skin1 = new Skin(); skin1.addRegions(at1);
-        style1.up = skin1.getDrawable("button1"); style1.down = skin1.getDrawable("button1");
-        style1.checked = skin1.getDrawable("button1");
-
-        //Design of the second category of button
-        style2 = new ImageButton.ImageButtonStyle();
-        t2 = new Texture("green_carpet_square_bright.jpg");
-        at2 = new TextureAtlas();
-        at2.addRegion("button2", t2, 0, 0,  cellSize, cellSize);
-        skin2 = new Skin(); skin2.addRegions(at2);
-        style2.up = skin2.getDrawable("button2"); style2.down = skin2.getDrawable("button2");
-        style2.checked = skin2.getDrawable("button2");
+        //Images of the cells, drawn with the background so that the stage has no cell to draw
+        cellDark = gsm.getAssets().get(GameAssets.CELL_DARK, Pixmap.class);
+        cellBright = gsm.getAssets().get(GameAssets.CELL_BRIGHT, Pixmap.class);
+        cellStyle = new ImageButton.ImageButtonStyle();
 
         //Display - layout of the cells
-        boardButtons.add(new ImageButton(style1));
-        boardButtons.get(0).addListener(gameController);
-        boardTable.add(boardButtons.get(0));
-
-        boolean reverse = false;
-        for (int i=1; i<board.getCells().size(); i++) {
-            if (i%board.getBoardSize() == 0) {
-                reverse = !reverse;
-            }
-            if (i%2 == 0 && !reverse) {
-                boardButtons.add(new ImageButton(style1));
-            } else if (i%2 == 0 && reverse){
-                boardButtons.add(new ImageButton(style2));
-            } else if (i%2 == 1 && !reverse) {
-                boardButtons.add(new ImageButton(style2));
-            } else if (i%2 == 1 && reverse){
-                boardButtons.add(new ImageButton(style1));
-            }
+        for (int i=0; i<board.getCells().size(); i++) {
+            boardButtons.add(new ImageButton(cellStyle));
             boardButtons.get(i).addListener(gameController);
-            if (i%board.getBoardSize() == 0 ) { boardTable.row(); }
-            boardTable.add(boardButtons.get(i));
+            if (i > 0 && i%board.getBoardSize() == 0 ) { boardTable.row(); }
+            boardTable.add(boardButtons.get(i)).size(cellSize);
         }
 
         ArrayList<Cell> activeCells = new ArrayList<Cell>();
@@ -315,6 +294,15 @@ public class GameScreen extends AbstractScreen {
 
     }
 
+    /**
+     * Returns the width and/or height of the board chosen in the settings
+     * @param prefs, the preferences of the game
+     * @return an Integer
+     */
+    public static int getBoardSize(Preferences prefs) {
+        return prefs.getInteger("boardSize", BOARD_SIZE);
+    }
+
     /**
      * Return the Board instance of the game
      * @return a Board
@@ -368,6 +356,8 @@ public class GameScreen extends AbstractScreen {
 
     public Stage getDialogStage() { return dialogStage; }
 
+    public Skin getDialogSkin() { return dialogSkin; }
+
     public int getPointSize() { return pointSize; }
 
     public ArrayList<ImageButton> getBoardButtons() { return boardButtons; }
@@ -377,44 +367,144 @@ public class GameScreen extends AbstractScreen {
         return this.gameController;
     }
 
+    /**
+     * Draws a region of the DiscAtlas centered on a cell of the board
+     * @param sb, the SpriteBatch, already begun
+     * @param region, the region of the DiscAtlas
+     * @param pos, the 'absolute' position of the cell
+     * @param width, the width drawn in pixels
+     * @param height, the height drawn in pixels
+     */
+    private void drawOnCell(SpriteBatch sb, TextureRegion region, int pos, float width, float height) {
+        int row = pos / board.getBoardSize();
+        int col = pos % board.getBoardSize();
+        //The camera of the board is y-down, the SpriteBatch is y-up
+        sb.draw(region, horizontalPadding + col*cellSize + 0.5f*cellSize - width/2,
+                cam.viewportHeight - boardUpperLimit - row*cellSize - 0.5f*cellSize - height/2, width, height);
+    }
+
+    /**
+     * Draws the outline of a rectangle with the pixel of the DiscAtlas
+     * @param sb, the SpriteBatch, already begun
+     * @param x, the left side of the rectangle
+     * @param y, the bottom side of the rectangle
+     * @param width, the width of the rectangle
+     * @param height, the height of the rectangle
+     * @param thickness, the width of the lines, centered on the sides
+     */
+    private void drawFrame(SpriteBatch sb, float x, float y, float width, float height, float thickness) {
+        TextureRegion pixel = discAtlas.getRegion(DiscAtlas.PIXEL);
+        float half = thickness/2;
+        sb.draw(pixel, x - half, y - half, width + thickness, thickness);
+        sb.draw(pixel, x - half, y + height - half, width + thickness, thickness);
+        sb.draw(pixel, x - half, y - half, thickness, height + thickness);
+        sb.draw(pixel, x + width - half, y - half, thickness, height + thickness);
+    }
+
     @Override
-    public void render(SpriteBatch sb) {
-        //Background render
+    public boolean isAnimating() {
+        //The flip animation starts on the change of player and ends at the full width of the pown
+        return board.getVersion() != renderedVersion || previousPlayer != board.getPlayerTurn()
+                || pownWidth < 2 * cellSize / 3
+                || (isAI && ((AIGameController) gameController).isThinking());
+    }
+
+    /**
+     * Draws the parts of the screen that never change in the backgroundCache : the overall
+     * background, the board background, its frame and the cells with the grid
+     * @param sb, the SpriteBatch, not begun
+     */
+    private void renderBackgroundCache(SpriteBatch sb) {
+        backgroundCache = new FrameBuffer(Pixmap.Format.RGB888, (int) cam.viewportWidth, (int) cam.viewportHeight, false);
+        backgroundCache.begin();
         sb.begin();
-        sb.draw(background, 0,0 ); sb.draw(background, background.getWidth(), 0);
-        sb.draw(background, 2*background.getWidth(), 0);
-        sb.draw(background, 0, background.getHeight()); sb.draw(background, background.getWidth(), background.getHeight());
-        sb.draw(background, 2*background.getWidth(), background.getHeight());
-        sb.draw(background, 0, 2*background.getHeight()); sb.draw(background, background.getWidth(), 2*background.getHeight());
-        sb.draw(background, 2*background.getWidth(), 2*background.getHeight());
-        sb.draw(background, 0, 3*background.getHeight()); sb.draw(background, background.getWidth(), 3*background.getHeight());
-        sb.draw(background, 2*background.getWidth(), 3*background.getHeight());
+
+        //Background render
+        sb.draw(background, 0,0 ); sb.draw(background, background.getRegionWidth(), 0);
+        sb.draw(background, 2*background.getRegionWidth(), 0);
+        sb.draw(background, 0, background.getRegionHeight()); sb.draw(background, background.getRegionWidth(), background.getRegionHeight());
+        sb.draw(background, 2*background.getRegionWidth(), background.getRegionHeight());
+        sb.draw(background, 0, 2*background.getRegionHeight()); sb.draw(background, background.getRegionWidth(), 2*background.getRegionHeight());
+        sb.draw(background, 2*background.getRegionWidth(), 2*background.getRegionHeight());
+        sb.draw(background, 0, 3*background.getRegionHeight()); sb.draw(background, background.getRegionWidth(), 3*background.getRegionHeight());
+        sb.draw(background, 2*background.getRegionWidth(), 3*background.getRegionHeight());
+
+        //Board background render, framed with a black rectangle
+        sb.draw(boardBackground,0, verticalPadding, cam.viewportWidth, boardSize+2*horizontalPadding);
+        sb.setColor(Color.BLACK);
+        drawFrame(sb, 2, verticalPadding, cam.viewportWidth-6, boardSize+2*horizontalPadding, 8);
+        sb.setColor(Color.WHITE);
+
+        //Cells render, under the buttons of the stage, the dark ones then the bright ones
+        mainTable.validate();
+        Texture dark = DiscAtlas.createCellTexture(cellDark, cellSize);
+        Texture bright = DiscAtlas.createCellTexture(cellBright, cellSize);
+        Vector2 corner = new Vector2();
+        for (int i = 0; i < boardButtons.size(); i++) {
+            int row = i / board.getBoardSize();
+            if ((i + row)%2 == 0) {
+                boardButtons.get(i).localToStageCoordinates(corner.set(0, 0));
+                sb.draw(dark, corner.x, corner.y, cellSize, cellSize);
+            }
+        }
+        for (int i = 0; i < boardButtons.size(); i++) {
+            int row = i / board.getBoardSize();
+            if ((i + row)%2 == 1) {
+                boardButtons.get(i).localToStageCoordinates(corner.set(0, 0));
+                sb.draw(bright, corner.x, corner.y, cellSize, cellSize);
+            }
+        }
+
         sb.end();
+        backgroundCache.end();
+        dark.dispose();
+        bright.dispose();
+        backgroundRegion = new TextureRegion(backgroundCache.getColorBufferTexture());
+        backgroundRegion.flip(false, true);
+    }
+
+    @Override
+    public void resize(int width, int height) {
+        //The content of the FrameBuffer is lost with the OpenGL context, it is drawn again
+        if (backgroundCache != null) {
+            backgroundCache.dispose();
+            backgroundCache = null;
+        }
+    }
+
+    @Override
+    public void render(SpriteBatch sb) {
+        if (backgroundCache == null) {
+            renderBackgroundCache(sb);
+        }
+
+        //Everything but the option buttons is drawn in two batches, before and after the stage
+        sb.begin();
 
+        //Cached background render, opaque
+        sb.disableBlending();
+        sb.draw(backgroundRegion, 0, 0, cam.viewportWidth, cam.viewportHeight);
+        sb.enableBlending();
         //Basic score display
         if (prefs.getBoolean("DisplayScore")) {
-            sr.begin(ShapeRenderer.ShapeType.Filled);
-            sr.setColor(Color.BLACK);
-            sr.circle(horizontalPadding + pointSize/2,
-                    verticalPadding + exitButton.getHeight() + 0.65f*pointSize, pointSize/3);
-            sr.setColor(Color.WHITE);
-            sr.circle(cam.viewportWidth - horizontalPadding - pointSize/2,
-                    verticalPadding + exitButton.getHeight() + 0.65f*pointSize, pointSize/3);
-            sr.end();
-            sb.begin();
+            TextureRegion scoreDisc = discAtlas.getRegion(DiscAtlas.SCORE);
+            float scoreY = cam.viewportHeight - verticalPadding - exitButton.getHeight() - 0.65f*pointSize
+                    - scoreDisc.getRegionHeight()/2f;
+            sb.setColor(Color.BLACK);
+            sb.draw(scoreDisc, horizontalPadding + pointSize/2 - scoreDisc.getRegionWidth()/2f, scoreY);
+            sb.setColor(Color.WHITE);
+            sb.draw(scoreDisc, cam.viewportWidth - horizontalPadding - pointSize/2 - scoreDisc.getRegionWidth()/2f, scoreY);
             optionFont.setColor(Color.BLACK);
-            optionFont.draw(sb, ""+board.getScore().get(0), horizontalPadding + 1.25f*pointSize,
+            optionFont.draw(sb, ""+board.getScore(1), horizontalPadding + 1.25f*pointSize,
                     cam.viewportHeight - verticalPadding - exitButton.getHeight() - 0.45f*pointSize);
             optionFont.setColor(Color.WHITE);
-            optionFont.draw(sb, ""+board.getScore().get(1), cam.viewportWidth - horizontalPadding - 1.5f*pointSize,
+            optionFont.draw(sb, ""+board.getScore(2), cam.viewportWidth - horizontalPadding - 1.5f*pointSize,
                     cam.viewportHeight - verticalPadding - exitButton.getHeight() - 0.45f*pointSize);
-            sb.end();
         }
 
         //Basic time display
         if (((int)(board.getTimeWhite()*60) > 0 && (int)(board.getTimeBlack()*60) > 0)
                 && !this.getIsAI()) {
-            sb.begin();
             optionFont.setColor(Color.BLACK);
             int mn = (int)(board.getTimeBlack()/60);
             int sec = (int)(board.getTimeBlack()%60);
@@ -425,28 +515,26 @@ public class GameScreen extends AbstractScreen {
             sec = (int)(board.getTimeWhite()%60);
             optionFont.draw(sb, mn+ "mn "+sec+" s", cam.viewportWidth - horizontalPadding - 2f*pointSize,
                     cam.viewportHeight - verticalPadding - exitButton.getHeight() - 1.2f*pointSize);
-            sb.end();
         }
 
-        //Board background render
-        sb.begin();
-        sb.draw(boardBackground,0, verticalPadding, cam.viewportWidth, boardSize+2*horizontalPadding);
+        //AI thinking indicator, where the time is displayed in the games between two players
+        if (isAI && ((AIGameController) gameController).isThinking()) {
+            int dots = (int) (TimeUtils.millis() / THINKING_DOT_PERIOD % 4);
+            optionFont.setColor(Color.WHITE);
+            optionFont.draw(sb, THINKING_TEXT + "...".substring(0, dots),
+                    (cam.viewportWidth - thinkingLayout.width) / 2,
+                    cam.viewportHeight - verticalPadding - exitButton.getHeight() - 1.2f*pointSize);
+        }
+
         sb.end();
-        sr.begin(ShapeRenderer.ShapeType.Line);
-        sr.setColor(Color.BLACK);
-        Gdx.gl.glLineWidth(8);
-        sr.rect(2,boardUpperLimit-horizontalPadding, cam.viewportWidth-6, boardSize+2*horizontalPadding);
-        sr.end();
 
-        //Board cells render
+        //Option buttons render, the cells are part of the background
         mainStage.draw();
 
-        //Black powns render
-        sr.setProjectionMatrix(cam.combined);
-        sr.begin(ShapeRenderer.ShapeType.Filled);
-        sr.setColor(Color.BLACK);
-        Gdx.gl.glLineWidth(3);
+        sb.begin();
+        TextureRegion disc = discAtlas.getRegion(DiscAtlas.DISC);
 
+        //Black powns render
         ArrayList<Cell> cellsPlayer1 = board.getActivePlayerCells(1);
         ArrayList<Cell> cellsToFlip = board.getLastFlips();
         currentPlayer = board.getPlayerTurn();
@@ -461,126 +549,74 @@ public class GameScreen extends AbstractScreen {
             cellsPlayer1.removeAll(cellsToFlip);
         }
 
+        sb.setColor(Color.BLACK);
         for (Cell c : cellsPlayer1) {
-            int tempRow = board.getRow(c);
-            int tempCol = board.getColumn(c);
-            sr.circle(horizontalPadding+tempCol*cellSize+0.5f*cellSize,
-                    boardUpperLimit+tempRow*cellSize+0.5f*cellSize, cellSize/3);
+            drawOnCell(sb, disc, c.getPos(), disc.getRegionWidth(), disc.getRegionHeight());
         }
-        sr.end();
 
         //White powns render
-        sr.begin(ShapeRenderer.ShapeType.Filled);
-        sr.setColor(Color.WHITE);
-
         ArrayList<Cell> cellsPlayer2 = board.getActivePlayerCells(2);
 
         if (cellsToFlip != null) {
             cellsPlayer2.removeAll(cellsToFlip);
         }
 
+        sb.setColor(Color.WHITE);
         for (Cell c : cellsPlayer2) {
-            int tempRow = board.getRow(c);
-            int tempCol = board.getColumn(c);
-            sr.circle(horizontalPadding+tempCol*cellSize+0.5f*cellSize,
-                    boardUpperLimit+tempRow*cellSize+0.5f*cellSize, cellSize/3);
+            drawOnCell(sb, disc, c.getPos(), disc.getRegionWidth(), disc.getRegionHeight());
         }
-        sr.end();
 
-        //flip powns render
+        //flip powns render, the pown is squeezed to its current width
         changedWidth();
         previousPlayer = currentPlayer;
 
-        sr.begin(ShapeRenderer.ShapeType.Filled);
-        Color color = changeColoR(isWhite);
-        sr.setColor(color);
-
+        sb.setColor(changeColoR(isWhite));
         if (cellsToFlip != null) {
             for (Cell c : cellsToFlip) {
-                int tempRow = board.getRow(c);
-                int tempCol = board.getColumn(c);
-                sr.ellipse(horizontalPadding + tempCol * cellSize + cellSize / 2 - pownWidth / 2,
-                        boardUpperLimit + tempRow * cellSize + cellSize / 6, pownWidth, 2 * cellSize / 3);
+                drawOnCell(sb, disc, c.getPos(), pownWidth, disc.getRegionHeight());
             }
         }
-        sr.end();
 
         //Legal moves render
-        if (!prefs.getBoolean("ShowLegalMoves") || (isAI && board.getPlayerTurn()==2)) {
-        } else {
+        if (prefs.getBoolean("ShowLegalMoves") && !(isAI && board.getPlayerTurn()==2)) {
             int playerTurn = board.getPlayerTurn();
-            if (playerTurn == 1) {
-                sr.begin(ShapeRenderer.ShapeType.Filled);
-                sr.setColor(Color.BLACK);
-                Map<Cell, ArrayList<Cell>> legalMoves = board.getLegalMoves(playerTurn);
-                for (Cell c : legalMoves.keySet()) {
-                    int tempRow = board.getRow(c);
-                    int tempCol = board.getColumn(c);
-                    sr.circle(horizontalPadding + tempCol * cellSize + 0.5f * cellSize, boardUpperLimit + tempRow * cellSize + 0.5f * cellSize, cellSize/6.5f);
-                }
-                sr.end();
-            } else {
-                sr.begin(ShapeRenderer.ShapeType.Filled);
-                sr.setColor(Color.WHITE);
-                Map<Cell, ArrayList<Cell>> legalMoves = board.getLegalMoves(playerTurn);
-                for (Cell c : legalMoves.keySet()) {
-                    int tempRow = board.getRow(c);
-                    int tempCol = board.getColumn(c);
-                    sr.circle(horizontalPadding+tempCol*cellSize+0.5f*cellSize,boardUpperLimit+tempRow*cellSize+0.5f*cellSize, cellSize/6.5f);
-                }
-                sr.end();
+            TextureRegion hint = discAtlas.getRegion(DiscAtlas.HINT);
+            sb.setColor(playerTurn == 1 ? Color.BLACK : Color.WHITE);
+            MoveList legalMoves = board.getMoves(playerTurn);
+            for (int i = 0; i < legalMoves.size(); i++) {
+                drawOnCell(sb, hint, legalMoves.getPos(i), hint.getRegionWidth(), hint.getRegionHeight());
             }
         }
 
         //Last flips render changes here
         if (prefs.getBoolean("DisplayLastFlips") && board.getLastFlips() != null) {
-            sr.begin(ShapeRenderer.ShapeType.Filled);
-            sr.setColor(Color.PURPLE);
-
+            TextureRegion marker = discAtlas.getRegion(DiscAtlas.MARKER);
+            sb.setColor(Color.PURPLE);
             for (Cell c : board.getLastFlips()) {
-                int tempRow = board.getRow(c);
-                int tempCol = board.getColumn(c);
-                sr.circle(horizontalPadding + tempCol * cellSize + 0.5f * cellSize, boardUpperLimit + tempRow * cellSize + 0.5f * cellSize, cellSize/9f);
+                drawOnCell(sb, marker, c.getPos(), marker.getRegionWidth(), marker.getRegionHeight());
             }
-            sr.end();
         }
-
-
-        //Grid render, with black lines to help vizualize the cell limits
-        sr.begin(ShapeRenderer.ShapeType.Line);
-        Gdx.gl.glLineWidth(2);
-        sr.setColor(Color.BLACK);
-
-        for (int x = 0; x <= board.getBoardSize(); x++) {
-            // draw vertical
-            sr.line(horizontalPadding+cellSize*x, boardUpperLimit,
-                    horizontalPadding+cellSize*x, boardLowerLimit);
-        }
-        for (int y = 0; y <= board.getBoardSize(); y++) {
-            // draw horizontal
-            sr.line(horizontalPadding, boardUpperLimit+ y * cellSize, horizontalPadding+boardSize, boardUpperLimit+ y * cellSize);
-        }
-        sr.end();
+        sb.setColor(Color.WHITE);
+        sb.end();
+        renderedVersion = board.getVersion();
 
         dialogStage.draw();
     }
 
     @Override
     public void dispose() {
-        sr.dispose();
+        gameController.dispose();
+        discAtlas.dispose();
         mainStage.dispose();
         optionFont.dispose();
-        optionTexturePressed.dispose();
-        optionTextureNotPressed.dispose();
-        optionAtlas.dispose();
         optionSkin.dispose();
-        t1.dispose();
-        at1.dispose();
-        skin1.dispose();
-        t2.dispose();
-        at2.dispose();
-        skin2.dispose();
-        background.dispose();
-        boardBackground.dispose();
+        gsm.getAssets().release(GameAssets.UI_ATLAS);
+        gsm.getAssets().release(GameAssets.BOARD_BACKGROUND);
+        gsm.getAssets().release(GameAssets.SKIN);
+        gsm.getAssets().release(GameAssets.CELL_DARK);
+        gsm.getAssets().release(GameAssets.CELL_BRIGHT);
+        if (backgroundCache != null) {
+            backgroundCache.dispose();
+        }
     }
 }
@@ -0,0 +1,89 @@
+package com.mygdx.othello.views;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.mygdx.othello.controllers.AbstractController;
+import com.mygdx.othello.controllers.GameStateManager;
+import com.mygdx.othello.controllers.LoadingController;
+
+/**
+ * This class shows the progress of the loading of the assets, first Screen of the application
+ * It only uses the default font and a one pixel texture, so that it is shown at once
+ */
+public class LoadingScreen extends AbstractScreen {
+
+    /** Text shown above the progress bar */
+    private static final String LOADING_TEXT = "Loading";
+
+    /** Loads the assets, then switches to the Menu Screen */
+    private LoadingController loadingController;
+
+    /** Font of the loading text */
+    private BitmapFont font;
+
+    /** Layout of the loading text, used to center it */
+    private GlyphLayout loadingLayout;
+
+    /** White pixel, stretched and tinted to draw the progress bar */
+    private Texture pixel;
+
+    /**
+     * Initialize the Loading Screen
+     * @param gsm
+     */
+    public LoadingScreen(GameStateManager gsm) {
+        super(gsm);
+        loadingController = new LoadingController(gsm);
+
+        font = new BitmapFont();
+        font.getData().setScale(3);
+        loadingLayout = new GlyphLayout(font, LOADING_TEXT);
+
+        Pixmap pixmap = new Pixmap(1, 1, Pixmap.Format.RGBA8888);
+        pixmap.setColor(Color.WHITE);
+        pixmap.fill();
+        pixel = new Texture(pixmap);
+        pixmap.dispose();
+    }
+
+    @Override
+    public AbstractController getController() {
+        return this.loadingController;
+    }
+
+    @Override
+    public boolean isAnimating() {
+        //The progress bar moves until the Menu Screen replaces this Screen
+        return true;
+    }
+
+    @Override
+    public void render(SpriteBatch sb) {
+        float barWidth = 0.8f*cam.viewportWidth;
+        float barHeight = 0.03f*cam.viewportHeight;
+        float x = (cam.viewportWidth - barWidth) / 2;
+        float y = (cam.viewportHeight - barHeight) / 2;
+
+        sb.begin();
+        font.setColor(Color.BLACK);
+        font.draw(sb, LOADING_TEXT, (cam.viewportWidth - loadingLayout.width) / 2, y + barHeight + 2*loadingLayout.height);
+
+        //Empty bar, then the loaded part
+        sb.setColor(Color.LIGHT_GRAY);
+        sb.draw(pixel, x, y, barWidth, barHeight);
+        sb.setColor(Color.DARK_GRAY);
+        sb.draw(pixel, x, y, barWidth * loadingController.getProgress(), barHeight);
+        sb.setColor(Color.WHITE);
+        sb.end();
+    }
+
+    @Override
+    public void dispose() {
+        font.dispose();
+        pixel.dispose();
+    }
+}
@@ -3,15 +3,16 @@ package com.mygdx.othello.views;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.mygdx.othello.controllers.AbstractController;
+import com.mygdx.othello.controllers.GameAssets;
 import com.mygdx.othello.controllers.GameStateManager;
 import com.mygdx.othello.controllers.MenuController;
 
@@ -32,20 +33,11 @@ public class MenuScreen extends AbstractScreen {
     /** Skin of the Text Buttons */
     private Skin skin;
 
-    /** Atlas used to store all the buttons' textures */
+    /** Atlas shared by the Screens, stores the background and the buttons' textures */
     private TextureAtlas atlas;
     
-    /** Texture when button not pressed */
-    private Texture buttonNotPressed;
-    
-    /** Texture when button pressed */
-    private Texture buttonPressed;
-    
-    /** Texture for the title 'button' */
-    private Texture menuTexture;
-    
     /** Background texture */
-    private Texture Background;
+    private TextureRegion Background;
 
     /** Title button always disabled to display the game title */
     private TextButton GameName;
@@ -82,7 +74,8 @@ public class MenuScreen extends AbstractScreen {
         super(gsm);
         //Initialize the game data to search for potential previous save
         super.gsm.initializeGameData();
-        Background = new Texture("Stone_bright_lv1.jpg");
+        atlas = gsm.getAssets().get(GameAssets.UI_ATLAS, TextureAtlas.class);
+        Background = atlas.findRegion(GameAssets.BACKGROUND);
         stage = new Stage();
         Gdx.input.setInputProcessor(stage);
         table = new Table(); table.setDebug(false);
@@ -91,29 +84,22 @@ public class MenuScreen extends AbstractScreen {
         font = new BitmapFont();
         skin = new Skin();
 
-        atlas = new TextureAtlas();
 
-        //Add all the png
-        buttonNotPressed = new Texture("WoodenButton.png");
-        buttonPressed = new Texture("WoodenButton_dark.png");
-        menuTexture = new Texture("MainMenu.png");
-        atlas.addRegion("ButtonNotPressed", buttonNotPressed, 0,0,buttonNotPressed.getWidth(),buttonNotPressed.getHeight());
-        atlas.addRegion("ButtonPressed", buttonPressed, 0,0,buttonPressed.getWidth(),buttonPressed.getHeight());
-        atlas.addRegion("MenuButton",menuTexture,0,0,menuTexture.getWidth(),menuTexture.getHeight());
+        //Add all the regions of the shared atlas
         skin.addRegions(atlas);
         font.getData().setScale(3);
 
         //The label for the name of the game
         titleStyle = new TextButton.TextButtonStyle();
         titleStyle.font = font;
-        titleStyle.up = skin.getDrawable("MenuButton");
+        titleStyle.up = skin.getDrawable(GameAssets.TITLE);
         GameName = new TextButton("Othello 2.0", titleStyle);
         GameName.getLabel().setColor(Color.WHITE);
 
         buttonStyle = new TextButton.TextButtonStyle();
         buttonStyle.font = font;
-        buttonStyle.up = skin.getDrawable("ButtonNotPressed");
-        buttonStyle.down = skin.getDrawable("ButtonPressed");
+        buttonStyle.up = skin.getDrawable(GameAssets.BUTTON);
+        buttonStyle.down = skin.getDrawable(GameAssets.BUTTON_PRESSED);
 
         //Optional button for resume mode
         Resume = new TextButton("Resume Game", buttonStyle);
@@ -174,11 +160,11 @@ public class MenuScreen extends AbstractScreen {
     public void render(SpriteBatch sb) {
         sb.begin();
         //Draw the background
-        int numberWidth = (int)cam.viewportWidth/Background.getWidth() + 1;
-        int numberHeight = (int)cam.viewportHeight/Background.getHeight() + 1;
+        int numberWidth = (int)cam.viewportWidth/Background.getRegionWidth() + 1;
+        int numberHeight = (int)cam.viewportHeight/Background.getRegionHeight() + 1;
         for (int i =0;i<=numberHeight;i++) {
             for (int j=0;j<=numberWidth;j++) {
-                sb.draw(Background,j*Background.getWidth(),i*Background.getHeight());
+                sb.draw(Background,j*Background.getRegionWidth(),i*Background.getRegionHeight());
             }
         }
         sb.end();
@@ -192,9 +178,6 @@ public class MenuScreen extends AbstractScreen {
         stage.dispose();
         font.dispose();
         skin.dispose();
-        atlas.dispose();
-        buttonNotPressed.dispose();
-        buttonPressed.dispose();
-        menuTexture.dispose();
+        gsm.getAssets().release(GameAssets.UI_ATLAS);
     }
 }
@@ -7,9 +7,11 @@ import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.*;
 import com.mygdx.othello.controllers.AbstractController;
+import com.mygdx.othello.controllers.GameAssets;
 import com.mygdx.othello.controllers.GameStateManager;
 import com.mygdx.othello.controllers.RulesController;
 
@@ -38,23 +40,20 @@ public class RulesScreen extends AbstractScreen {
     /** Font used in the labels (=screenshots descriptions) */
     private BitmapFont font;
 
-    /** Skin used for the labels and the button */
+    /** Skin used for the labels, shared by the Screens */
     private Skin skin;
 
-    /** Stores the Main Menu button texture */
-    private TextureAtlas atlas;
-
-    /** Texture when button pressed */
-    private Texture buttonPressed;
+    /** Skin used for the button */
+    private Skin buttonSkin;
 
-    /** Texture when button not pressed */
-    private Texture buttonNotPressed;
+    /** Atlas shared by the Screens, stores the background and the Main Menu button texture */
+    private TextureAtlas atlas;
 
     /** Descriptions of the corresponding screenshots */
     private Label label1, label2, label3, label4;
 
     /** Background texture */
-    private Texture Background;
+    private TextureRegion Background;
 
     /** Button to return to the Main Menu */
     private TextButton menuButton;
@@ -81,12 +80,13 @@ public class RulesScreen extends AbstractScreen {
      */
     public RulesScreen(GameStateManager gsm, int previousScreen) {
         super(gsm);
-        Background = new Texture("Stone_bright_lv1.jpg");
+        atlas = gsm.getAssets().get(GameAssets.UI_ATLAS, TextureAtlas.class);
+        Background = atlas.findRegion(GameAssets.BACKGROUND);
 
-        texture1 = new Texture("rules1.png");
-        texture2 = new Texture("rules2.png");
-        texture3 = new Texture("rules_start.png");
-        texture4 = new Texture("rules_end.png");
+        texture1 = gsm.getAssets().get(GameAssets.RULES_SCREENSHOTS[0], Texture.class);
+        texture2 = gsm.getAssets().get(GameAssets.RULES_SCREENSHOTS[1], Texture.class);
+        texture3 = gsm.getAssets().get(GameAssets.RULES_SCREENSHOTS[2], Texture.class);
+        texture4 = gsm.getAssets().get(GameAssets.RULES_SCREENSHOTS[3], Texture.class);
 
         screenshot1 = new Image(texture1);
         screenshot2 = new Image(texture2);
@@ -94,7 +94,7 @@ public class RulesScreen extends AbstractScreen {
         screenshot4 = new Image(texture4);
 
         font = new BitmapFont();
-        skin = new Skin(Gdx.files.internal("skin_directory/uiskin.json"));
+        skin = gsm.getAssets().get(GameAssets.SKIN, Skin.class);
 
         String text1 = "To start the game, touch on one of the legal moves represented as small dots. " +
                 "The opponent's disc(s) in between your own disc(s) and the one you just placed change color.";
@@ -130,20 +130,15 @@ public class RulesScreen extends AbstractScreen {
 
         this.previousScreen = previousScreen;
 
-        atlas = new TextureAtlas();
-
-        //Import the textures and create the atlas
-        buttonNotPressed = new Texture("WoodenButton.png");
-        buttonPressed = new Texture("WoodenButton_dark.png");
-        atlas.addRegion("ButtonNotPressed", buttonNotPressed, 0,0,buttonNotPressed.getWidth(),buttonNotPressed.getHeight());
-        atlas.addRegion("ButtonPressed", buttonPressed, 0,0,buttonPressed.getWidth(),buttonPressed.getHeight());
-        skin.addRegions(atlas);
+        //Add all the regions of the shared atlas
+        buttonSkin = new Skin();
+        buttonSkin.addRegions(atlas);
         font.getData().setScale(3);
 
         buttonStyle = new TextButton.TextButtonStyle();
         buttonStyle.font = font;
-        buttonStyle.up = skin.getDrawable("ButtonNotPressed");
-        buttonStyle.down = skin.getDrawable("ButtonPressed");
+        buttonStyle.up = buttonSkin.getDrawable(GameAssets.BUTTON);
+        buttonStyle.down = buttonSkin.getDrawable(GameAssets.BUTTON_PRESSED);
 
         //Menu Button (when previousScreen = MENU_SCREEN)
         menuButton = new TextButton("Main Menu", buttonStyle);
@@ -220,15 +215,21 @@ public class RulesScreen extends AbstractScreen {
         return this.rulesController;
     }
 
+    @Override
+    public boolean isAnimating() {
+        //The ScrollPane keeps moving after the touch is released
+        return scrollPane.isFlinging() || scrollPane.getVisualScrollY() != scrollPane.getScrollY();
+    }
+
     @Override
     public void render(SpriteBatch sb) {
         sb.begin();
         //Draw the background
-        int numberWidth = (int)cam.viewportWidth/Background.getWidth() + 1;
-        int numberHeight = (int)cam.viewportHeight/Background.getHeight() + 1;
+        int numberWidth = (int)cam.viewportWidth/Background.getRegionWidth() + 1;
+        int numberHeight = (int)cam.viewportHeight/Background.getRegionHeight() + 1;
         for (int i =0;i<=numberHeight;i++) {
             for (int j=0;j<=numberWidth;j++) {
-                sb.draw(Background,j*Background.getWidth(),i*Background.getHeight());
+                sb.draw(Background,j*Background.getRegionWidth(),i*Background.getRegionHeight());
             }
         }
 
@@ -241,15 +242,11 @@ public class RulesScreen extends AbstractScreen {
     public void dispose() {
         stage.dispose();
         font.dispose();
-        skin.dispose();
-        atlas.dispose();
-        buttonNotPressed.dispose();
-        buttonPressed.dispose();
-        skin.dispose();
-        Background.dispose();
-        texture1.dispose();
-        texture2.dispose();
-        texture3.dispose();
-        texture4.dispose();
+        buttonSkin.dispose();
+        gsm.getAssets().release(GameAssets.SKIN);
+        gsm.getAssets().release(GameAssets.UI_ATLAS);
+        for (String screenshot : GameAssets.RULES_SCREENSHOTS) {
+            gsm.getAssets().release(screenshot);
+        }
     }
 }
@@ -4,10 +4,10 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.Preferences;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.scenes.scene2d.ui.Label;
 import com.badlogic.gdx.scenes.scene2d.ui.ScrollPane;
@@ -16,7 +16,9 @@ import com.badlogic.gdx.scenes.scene2d.ui.Slider;
 import com.badlogic.gdx.scenes.scene2d.ui.Table;
 import com.badlogic.gdx.scenes.scene2d.ui.TextButton;
 import com.mygdx.othello.MyOthelloGame;
+import com.mygdx.othello.ai.AIConfig;
 import com.mygdx.othello.controllers.AbstractController;
+import com.mygdx.othello.controllers.GameAssets;
 import com.mygdx.othello.controllers.GameStateManager;
 import com.mygdx.othello.controllers.SettingsController;
 
@@ -40,20 +42,11 @@ public class SettingsScreen extends AbstractScreen  {
     /** Skin used for the buttons */
     private Skin skin;
 
-    /** Stores the texture for the buttons */
+    /** Atlas shared by the Screens, stores the background and the texture for the buttons */
     private TextureAtlas atlas;
 
     /** Background texture */
-    private Texture background;
-
-    /** Title texture */
-    private Texture titleTexture;
-
-    /** Texture when button not pressed */
-    private Texture buttonTextureNotPressed;
-
-    /** Texture when button pressed */
-    private Texture buttonTexturePressed;
+    private TextureRegion background;
 
     /** TextButton style for the always disabled title button */
     private TextButton.TextButtonStyle titleStyle;
@@ -61,7 +54,7 @@ public class SettingsScreen extends AbstractScreen  {
     /** TextButton style for the settings button */
     private TextButton.TextButtonStyle buttonStyle;
 
-    /** Skin for the slider, bar and knob */
+    /** Skin for the slider, bar and knob, shared by the Screens */
     private Skin sliderSkin;
 
     /** Style for the labels */
@@ -100,6 +93,15 @@ public class SettingsScreen extends AbstractScreen  {
     /** Time Mode label */
     private Label timeModeLabel;
 
+    /** AI difficulty level Button */
+    private TextButton AILevel;
+
+    /** AI search threads Button */
+    private TextButton AIThreads;
+
+    /** Board size Button */
+    private TextButton BoardSize;
+
     /** Erase Save Button */
     private TextButton eraseSaveButton;
 
@@ -129,34 +131,26 @@ public class SettingsScreen extends AbstractScreen  {
 
         font = new BitmapFont();
         skin = new Skin();
-        atlas = new TextureAtlas();
+        atlas = gsm.getAssets().get(GameAssets.UI_ATLAS, TextureAtlas.class);
 
-        background = new Texture("Stone_bright_lv1.jpg");
+        background = atlas.findRegion(GameAssets.BACKGROUND);
 
         prefs = Gdx.app.getPreferences("My preferences");
 
-        //Load the textures and create the atlas
-        sliderSkin = new Skin(Gdx.files.internal("skin_directory/uiskin.json"));
-        buttonTextureNotPressed = new Texture("WoodenButton.png");
-        buttonTexturePressed = new Texture("WoodenButton_dark.png");
-        titleTexture = new Texture("MainMenu.png");
-        atlas.addRegion("BasicButtonNotPressed", buttonTextureNotPressed
-                , 0, 0, buttonTextureNotPressed.getWidth(), buttonTextureNotPressed.getHeight());
-        atlas.addRegion("BasicButtonPressed", buttonTexturePressed
-                , 0, 0, buttonTexturePressed.getWidth(), buttonTexturePressed.getHeight());
-        atlas.addRegion("title", titleTexture, 0, 0, titleTexture.getWidth(), titleTexture.getHeight());
+        //Get the shared skin and add the regions of the shared atlas
+        sliderSkin = gsm.getAssets().get(GameAssets.SKIN, Skin.class);
         skin.addRegions(atlas);
         font.getData().setScale(3);
 
         //Create the TextButtonStyle
         titleStyle = new TextButton.TextButtonStyle();
         titleStyle.font = font;
-        titleStyle.up = skin.getDrawable("title");
+        titleStyle.up = skin.getDrawable(GameAssets.TITLE);
 
         buttonStyle = new TextButton.TextButtonStyle();
         buttonStyle.font = font;
-        buttonStyle.up = skin.getDrawable("BasicButtonNotPressed");
-        buttonStyle.down = skin.getDrawable("BasicButtonPressed");
+        buttonStyle.up = skin.getDrawable(GameAssets.BUTTON);
+        buttonStyle.down = skin.getDrawable(GameAssets.BUTTON_PRESSED);
 
         //The title of the screen
         titleButton = new TextButton("Settings Menu", titleStyle);
@@ -167,7 +161,7 @@ public class SettingsScreen extends AbstractScreen  {
         labelStyle.font = new BitmapFont();
 
         //First option - Choose handicap mode
-        handicapTable = new Table(); handicapTable.background(skin.getDrawable("BasicButtonNotPressed"));
+        handicapTable = new Table(); handicapTable.background(skin.getDrawable(GameAssets.BUTTON));
         handicapTable.left();
 
         handicapSlider = new Slider(0,4,1,false, sliderSkin);
@@ -219,23 +213,36 @@ public class SettingsScreen extends AbstractScreen  {
 
         //Sixth option - Chess time mode
         timeModeTable = new Table(); timeModeTable.left();
-        timeModeTable.background(skin.getDrawable("BasicButtonNotPressed"));
+        timeModeTable.background(skin.getDrawable(GameAssets.BUTTON));
 
         timeModeSlider = new Slider(0,10,0.5f,false,sliderSkin);
         timeModeSlider.setValue(prefs.getFloat("time"));
         timeModeLabel = new Label("Time mode : "+prefs.getFloat("time")+" mn", labelStyle);
         timeModeLabel.setColor(Color.GRAY); timeModeLabel.setFontScale(3f);
 
-        //7th option - Erase Previous Save
+        //7th option - AI difficulty level
+        AILevel = new TextButton("AI Level : " + AIConfig.fromPreferences(prefs).getLevelName(), buttonStyle);
+        AILevel.getLabel().setColor(Color.GRAY);
+
+        //8th option - Number of threads of the AI search
+        AIThreads = new TextButton("AI Threads : "
+                + AIConfig.getThreadsName(AIConfig.fromPreferences(prefs).getThreads()), buttonStyle);
+        AIThreads.getLabel().setColor(Color.GRAY);
+
+        //9th option - Width and height of the board of the next games
+        BoardSize = new TextButton("Board Size : " + GameScreen.getBoardSize(prefs), buttonStyle);
+        BoardSize.getLabel().setColor(Color.GRAY);
+
+        //10th option - Erase Previous Save
         eraseSaveButton = new TextButton("Erase Save", buttonStyle);
         eraseSaveButton.getLabel().setColor(Color.GRAY);
 
-        //8th option - Go back to Menu Screen
+        //11th option - Go back to Menu Screen
         menuScreenButton = new TextButton("Exit to Menu Screen", buttonStyle);
         menuScreenButton.getLabel().setColor(Color.GRAY);
 
         this.settingsController = new SettingsController(gsm, LegalMove, ScoreDisplay, LastFlipsDisplay,
-                MusicOff, handicapLabel, timeModeLabel);
+                MusicOff, handicapLabel, timeModeLabel, AILevel, AIThreads, BoardSize);
 
         //Adding all the listener
         LegalMove.addListener(settingsController);
@@ -244,6 +251,9 @@ public class SettingsScreen extends AbstractScreen  {
         MusicOff.addListener(settingsController);
         handicapSlider.addListener(settingsController);
         timeModeSlider.addListener(settingsController);
+        AILevel.addListener(settingsController);
+        AIThreads.addListener(settingsController);
+        BoardSize.addListener(settingsController);
         eraseSaveButton.addListener(settingsController);
         menuScreenButton.addListener(settingsController);
 
@@ -279,6 +289,12 @@ public class SettingsScreen extends AbstractScreen  {
                 .padLeft(0.07f*cam.viewportWidth).padRight(0.03f*cam.viewportWidth);
         timeModeTable.add(timeModeLabel);
         table.row();
+        table.add(AILevel).size(cam.viewportWidth - cam.viewportWidth / 10, cam.viewportHeight / 10).spaceBottom(cam.viewportHeight / 20);
+        table.row();
+        table.add(AIThreads).size(cam.viewportWidth - cam.viewportWidth / 10, cam.viewportHeight / 10).spaceBottom(cam.viewportHeight / 20);
+        table.row();
+        table.add(BoardSize).size(cam.viewportWidth - cam.viewportWidth / 10, cam.viewportHeight / 10).spaceBottom(cam.viewportHeight / 20);
+        table.row();
         table.add(eraseSaveButton).size(cam.viewportWidth - cam.viewportWidth / 10, cam.viewportHeight / 10).spaceBottom(cam.viewportHeight / 20);
         table.row();
         table.add(menuScreenButton).size(cam.viewportWidth - cam.viewportWidth / 10, cam.viewportHeight / 10).spaceBottom(cam.viewportHeight / 20);
@@ -290,15 +306,21 @@ public class SettingsScreen extends AbstractScreen  {
         return this.settingsController;
     }
 
+    @Override
+    public boolean isAnimating() {
+        //The ScrollPane keeps moving after the touch is released
+        return scrollPane.isFlinging() || scrollPane.getVisualScrollY() != scrollPane.getScrollY();
+    }
+
     @Override
     public void render(SpriteBatch sb) {
         //Draw the background
         sb.begin();
-        int numberWidth = (int) cam.viewportWidth / background.getWidth() + 1;
-        int numberHeight = (int) cam.viewportHeight / background.getHeight() + 1;
+        int numberWidth = (int) cam.viewportWidth / background.getRegionWidth() + 1;
+        int numberHeight = (int) cam.viewportHeight / background.getRegionHeight() + 1;
         for (int i = 0; i <= numberHeight; i++) {
             for (int j = 0; j <= numberWidth; j++) {
-                sb.draw(background, j * background.getWidth(), i * background.getHeight());
+                sb.draw(background, j * background.getRegionWidth(), i * background.getRegionHeight());
             }
         }
         sb.end();
@@ -312,11 +334,8 @@ public class SettingsScreen extends AbstractScreen  {
         stage.dispose();
         font.dispose();
         skin.dispose();
-        atlas.dispose();
-        background.dispose();
-        titleTexture.dispose();
-        buttonTextureNotPressed.dispose();
-        buttonTexturePressed.dispose();
-        sliderSkin.dispose();
+        labelStyle.font.dispose();
+        gsm.getAssets().release(GameAssets.UI_ATLAS);
+        gsm.getAssets().release(GameAssets.SKIN);
     }
 }
\ No newline at end of file
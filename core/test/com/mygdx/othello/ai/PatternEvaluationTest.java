@@ -0,0 +1,82 @@
+package com.mygdx.othello.ai;
+
+import com.mygdx.othello.models.BitBoard;
+import com.mygdx.othello.models.Board;
+import com.mygdx.othello.models.MoveList;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the indices updated by play/undo stay equal to the ones computed from scratch
+ * by setPosition, on random games played to the end and then undone
+ */
+public class PatternEvaluationTest {
+
+    /** Number of random games played */
+    private static final int GAMES = 200;
+
+    @Test
+    public void incrementalIndicesMatchSetPosition() {
+        Random random = new Random(2019);
+        MoveList moves = new MoveList(BitBoard.SIZE);
+        PatternEvaluation incremental = new PatternEvaluation(PatternWeights.defaults());
+        PatternEvaluation fresh = new PatternEvaluation(PatternWeights.defaults());
+        int[] playedPos = new int[128];
+        long[] playedFlips = new long[128];
+        int[] playedPlayer = new int[128];
+
+        for (int game = 0; game < GAMES; game++) {
+            Board board = new Board(BitBoard.SIZE, false, null);
+            incremental.setPosition(board.getDiscs(1), board.getDiscs(2));
+            int plies = 0;
+
+            while (true) {
+                int player = board.getPlayerTurn();
+                int count = board.generateMoves(player, moves);
+                int pos = Board.PASS;
+                long flips = 0L;
+                if (count == 0) {
+                    if (board.getMobility(player == 1 ? 2 : 1) == 0) {
+                        break;
+                    }
+                } else {
+                    pos = moves.getPos(random.nextInt(count));
+                    flips = BitBoard.flips(pos, board.getDiscs(player), board.getDiscs(player == 1 ? 2 : 1));
+                    incremental.play(pos, flips, player);
+                }
+                board.makeMove(pos);
+                playedPos[plies] = pos;
+                playedFlips[plies] = flips;
+                playedPlayer[plies] = player;
+                plies++;
+                checkIndices(incremental, fresh, board);
+            }
+
+            //A pass does not change the indices
+            while (plies > 0) {
+                plies--;
+                board.unmakeMove();
+                if (playedPos[plies] != Board.PASS) {
+                    incremental.undo(playedPos[plies], playedFlips[plies], playedPlayer[plies]);
+                }
+                checkIndices(incremental, fresh, board);
+            }
+            assertEquals(0, board.getMoveCount());
+        }
+    }
+
+    /**
+     * Compares the features of the incremental evaluation with the ones of the board computed
+     * from scratch
+     */
+    private static void checkIndices(PatternEvaluation incremental, PatternEvaluation fresh, Board board) {
+        fresh.setPosition(board.getDiscs(1), board.getDiscs(2));
+        for (int i = 0; i < PatternEvaluation.getInstanceCount(); i++) {
+            assertEquals("instance " + i, fresh.getFeature(i), incremental.getFeature(i));
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.mygdx.othello.models;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that makeMove/unmakeMove keep the score, the last flips and the hash consistent with
+ * the cells, on random games played to the end and then undone
+ */
+public class BoardTest {
+
+    /** Number of random games played on each board */
+    private static final int GAMES = 50;
+
+    @Test
+    public void makeUnmakeBitboard() {
+        checkRandomGames(8, false);
+    }
+
+    @Test
+    public void makeUnmakeGeneric() {
+        checkRandomGames(8, true);
+    }
+
+    @Test
+    public void makeUnmakeLargeBoard() {
+        checkRandomGames(10, true);
+        checkRandomGames(32, true);
+    }
+
+    /**
+     * Plays random games to the end, checking the board after each move, then undoes all the
+     * moves and checks that the start position is back
+     * @param size, the width and/or height of the board
+     * @param generic, true to use the multi-word engine
+     */
+    private void checkRandomGames(int size, boolean generic) {
+        Random random = new Random(size);
+        MoveList moves = new MoveList(size);
+        for (int game = 0; game < GAMES; game++) {
+            Board board = new Board(size, false, null);
+            board.setBitboardEnabled(!generic);
+            long hash = board.getHash();
+            byte[] start = values(board);
+
+            while (true) {
+                int player = board.getPlayerTurn();
+                int count = board.generateMoves(player, moves);
+                if (count == 0) {
+                    if (board.getMobility(player == 1 ? 2 : 1) == 0) {
+                        break;
+                    }
+                    assertTrue(board.makeMove(Board.PASS));
+                    assertEquals(3 - player, board.getPlayerTurn());
+                    checkConsistency(board);
+                    continue;
+                }
+
+                int pos = moves.getPos(random.nextInt(count));
+                byte[] before = values(board);
+                assertTrue(board.makeMove(pos));
+                assertEquals(3 - player, board.getPlayerTurn());
+                checkConsistency(board);
+
+                //The last flips are the cells which changed, except the new pown
+                ArrayList<Integer> changed = new ArrayList<Integer>();
+                for (int i = 0; i < before.length; i++) {
+                    if (i != pos && before[i] != board.getValue(i)) {
+                        changed.add(i);
+                    }
+                }
+                ArrayList<Integer> lastFlips = new ArrayList<Integer>();
+                for (Cell c : board.getLastFlips()) {
+                    lastFlips.add(c.getPos());
+                }
+                assertEquals(changed.size(), lastFlips.size());
+                assertTrue(lastFlips.containsAll(changed));
+            }
+
+            while (board.getMoveCount() > 0) {
+                board.unmakeMove();
+                checkConsistency(board);
+            }
+            assertEquals(hash, board.getHash());
+            assertEquals(1, board.getPlayerTurn());
+            assertEquals(2, board.getScore(1));
+            assertEquals(2, board.getScore(2));
+            for (int i = 0; i < start.length; i++) {
+                assertEquals(start[i], board.getValue(i));
+            }
+        }
+    }
+
+    /**
+     * Compares the incremental score, empty count and hash with the ones counted on the cells
+     */
+    private static void checkConsistency(Board board) {
+        int black = 0;
+        int white = 0;
+        long hash = (board.getPlayerTurn() == 2) ? Zobrist.SIDE : 0L;
+        for (int i = 0; i < board.getCells().size(); i++) {
+            int value = board.getValue(i);
+            if (value == 1) {
+                black++;
+            } else if (value == 2) {
+                white++;
+            }
+            if (value != 0) {
+                hash ^= Zobrist.key(value, i);
+            }
+        }
+        assertEquals(black, board.getScore(1));
+        assertEquals(white, board.getScore(2));
+        assertEquals(board.getCells().size() - black - white, board.getEmptyCount());
+        assertEquals(hash, board.getHash());
+    }
+
+    /**
+     * Returns a copy of the values of the cells
+     */
+    private static byte[] values(Board board) {
+        byte[] values = new byte[board.getCells().size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (byte) board.getValue(i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,161 @@
+package com.mygdx.othello.models;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the move generators : the perft counts of the 8x8 start position with both engines,
+ * and the multi-word engine of the other board sizes against a naive generator
+ */
+public class PerftTest {
+
+    /** Deepest count checked, deeper ones are left to PerftRunner */
+    private static final int DEPTH = 7;
+
+    /** Board sizes compared with the naive generator */
+    private static final int[] SIZES = {6, 8, 10, 12, 16, 20, 24, 32};
+
+    /** Number of random games played on each board size */
+    private static final int GAMES = 20;
+
+    /** Directions of the naive generator, as {row, column} steps */
+    private static final int[][] DIRECTIONS = {
+            {-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}
+    };
+
+    @Test
+    public void startCountsBitboard() {
+        checkStartCounts(false);
+    }
+
+    @Test
+    public void startCountsGeneric() {
+        checkStartCounts(true);
+    }
+
+    @Test
+    public void divideSumsToPerft() {
+        Perft perft = new Perft(new Board(8, false, null));
+        long total = 0;
+        for (long count : perft.divide(DEPTH)) {
+            total += count;
+        }
+        assertEquals(Perft.START_COUNTS[DEPTH], total);
+    }
+
+    @Test
+    public void wideEngineMatchesNaiveGenerator() {
+        Random random = new Random(2019);
+        for (int size : SIZES) {
+            MoveList moves = new MoveList(size);
+            for (int game = 0; game < GAMES; game++) {
+                Board board = new Board(size, false, null);
+                board.setBitboardEnabled(false);
+                while (true) {
+                    int player = board.getPlayerTurn();
+                    int count = board.generateMoves(player, moves);
+                    int legal = 0;
+                    for (int pos = 0; pos < size * size; pos++) {
+                        boolean naive = naiveFlips(board, pos, player) > 0;
+                        assertEquals("size " + size + ", move " + pos, naive, moves.indexOf(pos) >= 0);
+                        if (naive) {
+                            legal++;
+                        }
+                    }
+                    assertEquals(legal, count);
+                    if (count == 0) {
+                        if (board.getMobility(player == 1 ? 2 : 1) == 0) {
+                            break;
+                        }
+                        board.makeMove(Board.PASS);
+                        continue;
+                    }
+
+                    //The move must flip exactly the cells found by the naive generator
+                    int pos = moves.getPos(random.nextInt(count));
+                    byte[] expected = naivePlay(board, pos, player);
+                    assertTrue(board.makeMove(pos));
+                    for (int i = 0; i < expected.length; i++) {
+                        assertEquals("size " + size + ", cell " + i, expected[i], board.getValue(i));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks the counts of the start position up to DEPTH, and that the board is left unchanged
+     * @param generic, true to use the multi-word engine on the 8x8 board
+     */
+    private void checkStartCounts(boolean generic) {
+        Board board = new Board(8, false, null);
+        long hash = board.getHash();
+        Perft perft = new Perft(board);
+        perft.setGeneric(generic);
+        for (int depth = 0; depth <= DEPTH; depth++) {
+            assertEquals("depth " + depth, Perft.START_COUNTS[depth], perft.perft(depth));
+        }
+        assertEquals(hash, board.getHash());
+        assertEquals(0, board.getMoveCount());
+    }
+
+    /**
+     * Counts the cells a move would flip by walking the board cell by cell
+     * @return an Integer, 0 if the move is not legal
+     */
+    private static int naiveFlips(Board board, int pos, int player) {
+        if (board.getValue(pos) != 0) {
+            return 0;
+        }
+        int size = board.getBoardSize();
+        int total = 0;
+        for (int[] d : DIRECTIONS) {
+            int row = pos / size + d[0];
+            int col = pos % size + d[1];
+            int count = 0;
+            while (row >= 0 && row < size && col >= 0 && col < size
+                    && board.getValue(row * size + col) == 3 - player) {
+                row += d[0];
+                col += d[1];
+                count++;
+            }
+            if (count > 0 && row >= 0 && row < size && col >= 0 && col < size
+                    && board.getValue(row * size + col) == player) {
+                total += count;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the values of the cells after a legal move, computed cell by cell
+     */
+    private static byte[] naivePlay(Board board, int pos, int player) {
+        int size = board.getBoardSize();
+        byte[] values = new byte[size * size];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (byte) board.getValue(i);
+        }
+        values[pos] = (byte) player;
+        for (int[] d : DIRECTIONS) {
+            int row = pos / size + d[0];
+            int col = pos % size + d[1];
+            while (row >= 0 && row < size && col >= 0 && col < size
+                    && board.getValue(row * size + col) == 3 - player) {
+                row += d[0];
+                col += d[1];
+            }
+            if (row >= 0 && row < size && col >= 0 && col < size
+                    && board.getValue(row * size + col) == player) {
+                for (int r = pos / size + d[0], c = pos % size + d[1]; r != row || c != col; r += d[0], c += d[1]) {
+                    values[r * size + c] = (byte) player;
+                }
+            }
+        }
+        return values;
+    }
+}
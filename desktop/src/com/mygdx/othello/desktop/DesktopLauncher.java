@@ -3,12 +3,14 @@ package com.mygdx.othello.desktop;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplication;
 import com.badlogic.gdx.backends.lwjgl.LwjglApplicationConfiguration;
 import com.mygdx.othello.MyOthelloGame;
+import com.mygdx.othello.ai.AIConfig;
 
 public class DesktopLauncher {
 	public static void main (String[] arg) {
 		LwjglApplicationConfiguration config = new LwjglApplicationConfiguration();
 		config.width=500;
 		config.height=800;
+		AIConfig.setAvailableProcessors(Runtime.getRuntime().availableProcessors());
 		new LwjglApplication(new MyOthelloGame(), config);
 	}
 }
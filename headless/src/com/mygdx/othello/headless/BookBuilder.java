@@ -0,0 +1,213 @@
+package com.mygdx.othello.headless;
+
+import com.mygdx.othello.ai.OpeningBook;
+import com.mygdx.othello.ai.Search;
+import com.mygdx.othello.models.BitBoard;
+import com.mygdx.othello.models.Board;
+import com.mygdx.othello.models.Zobrist;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class builds the opening book of the AI by searching the positions of the beginning of
+ * the game, ply after ply from the start position
+ * All the moves are followed during the first plies, then only the moves kept in the book, which
+ * are the ones scoring close to the best move. Each position is searched once for its 8 symmetries
+ *
+ * Usage : BookBuilder [-full plies] [-plies N] [-depth D] [-margin M] [-weights file] [-out file]
+ */
+public class BookBuilder {
+
+    /** Time budget given to a search, the depth limits it */
+    private static final long NO_TIME_LIMIT = 24L * 3600 * 1000;
+
+    /** Number of plies during which all the moves are followed */
+    private int fullPlies = 4;
+
+    /** Number of plies of the book, the positions after it are not stored */
+    private int plies = 10;
+
+    /** Depth of the search of each move */
+    private int depth = 6;
+
+    /** Moves scoring at most this below the best one are kept in the book */
+    private int margin = 16;
+
+    /** File written */
+    private String out = OpeningBook.FILE;
+
+    /** Search engine, its transposition table is kept from one position to the next */
+    private Search search = new Search();
+
+    /** Moves of each canonical position, as pairs of (canonical position, weight) */
+    private Map<Long, int[]> entries = new HashMap<Long, int[]>();
+
+    public static void main(String[] args) throws IOException {
+        BookBuilder builder = new BookBuilder();
+        builder.parseArguments(args);
+        builder.run();
+    }
+
+    /**
+     * Reads the options of the command line
+     * @param args, the arguments given to main
+     */
+    private void parseArguments(String[] args) throws IOException {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-full")) {
+                fullPlies = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-plies")) {
+                plies = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-depth")) {
+                depth = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-margin")) {
+                margin = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-weights")) {
+                search.setWeights(WeightTrainer.readWeights(args[++i]));
+            } else if (args[i].equals("-out")) {
+                out = args[++i];
+            } else {
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+    }
+
+    /**
+     * Searches the positions ply after ply, then writes the book
+     */
+    private void run() throws IOException {
+        long start = System.currentTimeMillis();
+        Board board = new Board(BitBoard.SIZE, false, null);
+        ArrayList<long[]> positions = new ArrayList<long[]>();
+        positions.add(new long[] {board.getDiscs(1), board.getDiscs(2), 1});
+        Set<Long> seen = new HashSet<Long>();
+
+        for (int ply = 0; ply < plies && !positions.isEmpty(); ply++) {
+            ArrayList<long[]> next = new ArrayList<long[]>();
+            for (long[] position : positions) {
+                long black = position[0];
+                long white = position[1];
+                int player = (int) position[2];
+                int symmetry = OpeningBook.canonicalSymmetry(black, white, player);
+                long key = Zobrist.hash(BitBoard.symmetry(black, symmetry),
+                        BitBoard.symmetry(white, symmetry), player);
+                if (!seen.add(key)) {
+                    continue;
+                }
+                long p = (player == 1) ? black : white;
+                long o = (player == 1) ? white : black;
+                long legal = BitBoard.legalMoves(p, o);
+                if (legal == 0) {
+                    continue;
+                }
+
+                long kept = addEntry(key, symmetry, p, o, player, legal);
+                long followed = (ply < fullPlies) ? legal : kept;
+                while (followed != 0) {
+                    int pos = Long.numberOfTrailingZeros(followed);
+                    followed &= followed - 1;
+                    long flips = BitBoard.flips(pos, p, o);
+                    long newP = p | flips | (1L << pos);
+                    long newO = o & ~flips;
+                    int opponent = (player == 1) ? 2 : 1;
+                    if (BitBoard.legalMoves(newO, newP) == 0) {
+                        //The opponent passes, the player plays again
+                        opponent = player;
+                    }
+                    long newBlack = (player == 1) ? newP : newO;
+                    long newWhite = (player == 1) ? newO : newP;
+                    next.add(new long[] {newBlack, newWhite, opponent});
+                }
+            }
+            System.out.println(String.format("ply %2d : %6d positions in the book, %.0f s",
+                    ply, entries.size(), (System.currentTimeMillis() - start) / 1000.0));
+            positions = next;
+        }
+
+        OpeningBook book = OpeningBook.fromEntries(entries);
+        OutputStream stream = new FileOutputStream(out);
+        try {
+            stream.write(book.toBytes());
+        } finally {
+            stream.close();
+        }
+        System.out.println("Wrote " + book.size() + " positions to " + out);
+    }
+
+    /**
+     * Searches each move of a position and stores the ones close enough to the best one
+     * @param key, the canonical hash of the position
+     * @param symmetry, the symmetry giving the canonical position
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param player, the active player
+     * @param legal, the legal moves of p
+     * @return a long, the mask of the moves kept
+     */
+    private long addEntry(long key, int symmetry, long p, long o, int player, long legal) {
+        int opponent = (player == 1) ? 2 : 1;
+        int count = Long.bitCount(legal);
+        int[] movePositions = new int[count];
+        int[] scores = new int[count];
+        int best = -Search.INFINITY;
+        for (int i = 0; i < count; i++) {
+            int pos = Long.numberOfTrailingZeros(legal);
+            legal &= legal - 1;
+            long flips = BitBoard.flips(pos, p, o);
+            movePositions[i] = pos;
+            scores[i] = -evaluate(o & ~flips, p | flips | (1L << pos), opponent, depth - 1);
+            best = Math.max(best, scores[i]);
+        }
+
+        long kept = 0L;
+        ArrayList<Integer> pairs = new ArrayList<Integer>();
+        for (int i = 0; i < count; i++) {
+            if (scores[i] >= best - margin) {
+                kept |= 1L << movePositions[i];
+                pairs.add(Long.numberOfTrailingZeros(BitBoard.symmetry(1L << movePositions[i], symmetry)));
+                pairs.add(1 + margin - (best - scores[i]));
+            }
+        }
+        int[] entry = new int[pairs.size()];
+        for (int i = 0; i < entry.length; i++) {
+            entry[i] = pairs.get(i);
+        }
+        entries.put(key, entry);
+        return kept;
+    }
+
+    /**
+     * Score of a position for the active player, found by the search
+     * @param p, the discs of the active player
+     * @param o, the discs of the opposing player
+     * @param player, the active player
+     * @param depth, the depth of the search
+     * @return an Integer, positive if the active player is ahead
+     */
+    private int evaluate(long p, long o, int player, int depth) {
+        int opponent = (player == 1) ? 2 : 1;
+        long legal = BitBoard.legalMoves(p, o);
+        if (legal == 0) {
+            if (BitBoard.legalMoves(o, p) == 0) {
+                int diff = Long.bitCount(p) - Long.bitCount(o);
+                return (diff > 0) ? Search.WIN + diff : (diff < 0) ? -Search.WIN + diff : 0;
+            }
+            return -evaluate(o, p, opponent, depth);
+        }
+        if (Long.bitCount(legal) == 1) {
+            //The search plays a single move without scoring it
+            int pos = Long.numberOfTrailingZeros(legal);
+            long flips = BitBoard.flips(pos, p, o);
+            return -evaluate(o & ~flips, p | flips | (1L << pos), opponent, depth);
+        }
+        search.findBestMove(p, o, player, Math.max(1, depth), NO_TIME_LIMIT);
+        return search.getScore();
+    }
+}
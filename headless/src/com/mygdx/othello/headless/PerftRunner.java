@@ -0,0 +1,90 @@
+package com.mygdx.othello.headless;
+
+import com.mygdx.othello.models.Board;
+import com.mygdx.othello.models.Perft;
+
+/**
+ * This class runs perft from the start position, checks the counts of the 8x8 board against
+ * the known ones and reports the nodes per second
+ * The counts up to depth 7 are also checked by the tests of the core module, at each build
+ *
+ * Usage : PerftRunner [-depth N] [-size N] [-divide] [-generic]
+ */
+public class PerftRunner {
+
+    public static void main(String[] args) {
+        int depth = 9;
+        int size = 8;
+        boolean divide = false;
+        boolean generic = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-depth")) {
+                depth = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-size")) {
+                size = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("-divide")) {
+                divide = true;
+            } else if (args[i].equals("-generic")) {
+                generic = true;
+            } else {
+                throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+
+        Board board = new Board(size, false, null);
+        Perft perft = new Perft(board);
+        perft.setGeneric(generic);
+        boolean failed = false;
+
+        if (divide) {
+            long start = System.nanoTime();
+            long[] counts = perft.divide(depth);
+            long time = System.nanoTime() - start;
+            long total = 0;
+            for (int pos = 0; pos < counts.length; pos++) {
+                if (counts[pos] != 0) {
+                    String move = (pos == counts.length - 1) ? "pass" : toCoordinates(pos, size);
+                    System.out.println(move + " : " + counts[pos]);
+                    total += counts[pos];
+                }
+            }
+            failed = !check(size, depth, total);
+            report(depth, total, perft.getNodes(), time);
+        } else {
+            for (int d = 1; d <= depth; d++) {
+                long start = System.nanoTime();
+                long count = perft.perft(d);
+                long time = System.nanoTime() - start;
+                failed |= !check(size, d, count);
+                report(d, count, perft.getNodes(), time);
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Compares a count of the 8x8 start position with the known one
+     * @return a boolean, false if the count is wrong
+     */
+    private static boolean check(int size, int depth, long count) {
+        if (size != 8 || depth >= Perft.START_COUNTS.length || Perft.START_COUNTS[depth] == count) {
+            return true;
+        }
+        System.out.println("ERROR : expected " + Perft.START_COUNTS[depth] + " at depth " + depth);
+        return false;
+    }
+
+    /** Prints the count and the speed of a depth */
+    private static void report(int depth, long count, long nodes, long nanos) {
+        double seconds = Math.max(1, nanos) / 1e9;
+        System.out.println(String.format("depth %2d  %,15d positions  %8.3f s  %,.0f nodes/s",
+                depth, count, seconds, nodes / seconds));
+    }
+
+    /** Name of a cell, column letter and row number */
+    private static String toCoordinates(int pos, int size) {
+        return (char) ('a' + pos % size) + String.valueOf(pos / size + 1);
+    }
+}
@@ -0,0 +1,237 @@
+package com.mygdx.othello.headless;
+
+import com.mygdx.othello.ai.EndgameSolver;
+import com.mygdx.othello.ai.PatternWeights;
+import com.mygdx.othello.ai.Search;
+import com.mygdx.othello.models.BitBoard;
+import com.mygdx.othello.models.Board;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class plays AI versus AI games without any libGDX application, on all the cores
+ * Two engines A and B play against each other, A has black in the even games and white in the
+ * odd ones. The first moves of each game are random, so that the games differ.
+ * Reports the games per second, the nodes per second and the results of each engine
+ *
+ * Usage : SelfPlayRunner [-games N] [-threads N] [-depthA D] [-depthB D] [-time ms]
+ *                        [-solve empties] [-random plies] [-seed S] [-weightsA file] [-weightsB file]
+ */
+public class SelfPlayRunner {
+
+    /** Time between two progress reports, in milliseconds */
+    private static final long REPORT_PERIOD = 5000;
+
+    /** Time budget given to a move when no time limit is set, the depth limits the search */
+    private static final long NO_TIME_LIMIT = 24L * 3600 * 1000;
+
+    /** Number of games to play */
+    private int games = 1000;
+
+    /** Number of games played at the same time */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Search depth of the engine A */
+    private int depthA = 4;
+
+    /** Search depth of the engine B */
+    private int depthB = 4;
+
+    /** Time budget of a move, in milliseconds */
+    private long time = NO_TIME_LIMIT;
+
+    /** Number of empties from which the games are solved exactly, 0 to never solve */
+    private int solveEmpties = 0;
+
+    /** Number of random moves at the beginning of each game */
+    private int randomPlies = 8;
+
+    /** Seed of the random openings, game i uses seed + i */
+    private long seed = 0;
+
+    /** Weight file of the engine A, the default weights if null */
+    private String weightsA;
+
+    /** Weight file of the engine B, the default weights if null */
+    private String weightsB;
+
+    /** Evaluation weights of the engine A */
+    private PatternWeights patternWeightsA;
+
+    /** Evaluation weights of the engine B */
+    private PatternWeights patternWeightsB;
+
+    /** Index of the next game to play */
+    private final AtomicInteger nextGame = new AtomicInteger();
+
+    /** Number of games won by A */
+    private final AtomicInteger winsA = new AtomicInteger();
+
+    /** Number of games won by B */
+    private final AtomicInteger winsB = new AtomicInteger();
+
+    /** Number of drawn games */
+    private final AtomicInteger draws = new AtomicInteger();
+
+    /** Sum of the final disc differentials, from the point of view of A */
+    private final AtomicLong discDiff = new AtomicLong();
+
+    /** Number of positions searched by all the engines */
+    private final AtomicLong nodes = new AtomicLong();
+
+    /** Number of moves played */
+    private final AtomicLong moves = new AtomicLong();
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        SelfPlayRunner runner = new SelfPlayRunner();
+        runner.parseArguments(args);
+        runner.run();
+    }
+
+    /**
+     * Reads the options of the command line
+     * @param args, the arguments given to main
+     */
+    private void parseArguments(String[] args) {
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String name = args[i];
+            String value = args[i + 1];
+            if (name.equals("-games")) {
+                games = Integer.parseInt(value);
+            } else if (name.equals("-threads")) {
+                threads = Integer.parseInt(value);
+            } else if (name.equals("-depthA")) {
+                depthA = Integer.parseInt(value);
+            } else if (name.equals("-depthB")) {
+                depthB = Integer.parseInt(value);
+            } else if (name.equals("-time")) {
+                time = Long.parseLong(value);
+            } else if (name.equals("-solve")) {
+                solveEmpties = Integer.parseInt(value);
+            } else if (name.equals("-random")) {
+                randomPlies = Integer.parseInt(value);
+            } else if (name.equals("-seed")) {
+                seed = Long.parseLong(value);
+            } else if (name.equals("-weightsA")) {
+                weightsA = value;
+            } else if (name.equals("-weightsB")) {
+                weightsB = value;
+            } else {
+                throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+    }
+
+    /**
+     * Plays all the games and prints the reports
+     */
+    private void run() throws InterruptedException, IOException {
+        patternWeightsA = (weightsA != null) ? WeightTrainer.readWeights(weightsA) : PatternWeights.defaults();
+        patternWeightsB = (weightsB != null) ? WeightTrainer.readWeights(weightsB) : PatternWeights.defaults();
+        System.out.println("Playing " + games + " games on " + threads + " threads, A depth " + depthA
+                + " vs B depth " + depthB + ", " + randomPlies + " random plies");
+        long start = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    playGames();
+                }
+            });
+        }
+        executor.shutdown();
+        while (!executor.awaitTermination(REPORT_PERIOD, TimeUnit.MILLISECONDS)) {
+            report(start);
+        }
+        report(start);
+    }
+
+    /**
+     * Plays games until all of them are taken, run by each thread with its own engines
+     */
+    private void playGames() {
+        Search searchA = new Search();
+        Search searchB = new Search();
+        searchA.setWeights(patternWeightsA);
+        searchB.setWeights(patternWeightsB);
+        EndgameSolver solver = new EndgameSolver();
+        int game;
+        while ((game = nextGame.getAndIncrement()) < games) {
+            int playerA = (game % 2 == 0) ? 1 : 2;
+            Board board = new Board(BitBoard.SIZE, true, null);
+            Random random = new Random(seed + game);
+            int ply = 0;
+
+            while (true) {
+                int player = board.getPlayerTurn();
+                int opponent = (player == 1) ? 2 : 1;
+                long p = board.getDiscs(player);
+                long o = board.getDiscs(opponent);
+                long legal = BitBoard.legalMoves(p, o);
+                if (legal == 0) {
+                    if (BitBoard.legalMoves(o, p) == 0) {
+                        break;
+                    }
+                    board.makeMove(Board.PASS);
+                    continue;
+                }
+
+                int move;
+                if (ply < randomPlies) {
+                    for (int i = random.nextInt(Long.bitCount(legal)); i > 0; i--) {
+                        legal &= legal - 1;
+                    }
+                    move = Long.numberOfTrailingZeros(legal);
+                } else {
+                    move = -1;
+                    if (board.getEmptyCount() <= solveEmpties) {
+                        move = solver.solve(p, o, player, time);
+                        nodes.addAndGet(solver.getNodes());
+                    }
+                    if (move < 0) {
+                        Search search = (player == playerA) ? searchA : searchB;
+                        move = search.findBestMove(p, o, player, (player == playerA) ? depthA : depthB, time);
+                        nodes.addAndGet(search.getNodes());
+                    }
+                }
+                board.makeMove(move);
+                moves.incrementAndGet();
+                ply++;
+            }
+
+            int diff = board.getScore(playerA) - board.getScore((playerA == 1) ? 2 : 1);
+            discDiff.addAndGet(diff);
+            if (diff > 0) {
+                winsA.incrementAndGet();
+            } else if (diff < 0) {
+                winsB.incrementAndGet();
+            } else {
+                draws.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Prints the throughput and the results of the games finished so far
+     * @param start, the time at which the games started, in milliseconds
+     */
+    private void report(long start) {
+        double seconds = Math.max(1, System.currentTimeMillis() - start) / 1000.0;
+        int played = winsA.get() + winsB.get() + draws.get();
+        System.out.println(String.format("%d games  %.1f games/s  %.0f moves/s  %.0f nodes/s",
+                played, played / seconds, moves.get() / seconds, nodes.get() / seconds));
+        if (played > 0) {
+            System.out.println(String.format("  A wins %.1f%%  B wins %.1f%%  draws %.1f%%  mean disc diff %+.2f",
+                    100.0 * winsA.get() / played, 100.0 * winsB.get() / played,
+                    100.0 * draws.get() / played, (double) discDiff.get() / played));
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package com.mygdx.othello.headless;
+
+import com.mygdx.othello.ai.PatternEvaluation;
+import com.mygdx.othello.ai.PatternWeights;
+import com.mygdx.othello.ai.Search;
+import com.mygdx.othello.models.BitBoard;
+import com.mygdx.othello.models.Board;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class trains the weights of the PatternEvaluation on self-play games, on all the cores
+ * First the games are played and each of their positions is appended to the positions file with
+ * the final disc differential of its game. Then the weights are fitted to predict this
+ * differential by a least squares regression, reading the file again at each epoch, so that the
+ * positions never have to fit in memory. The weight file loaded by the game is written at the end
+ *
+ * Positions file : one record of RECORD_SIZE bytes per position, big-endian : the discs of black
+ * and of white (longs), the active player (byte) and the final disc differential for black (byte)
+ *
+ * Usage : WeightTrainer [-games N] [-threads N] [-depth D] [-random plies] [-seed S]
+ *                       [-weights file] [-positions file] [-epochs N] [-rate R] [-out file]
+ */
+public class WeightTrainer {
+
+    /** Size of a position in the positions file, in bytes */
+    private static final int RECORD_SIZE = 18;
+
+    /** Value of a disc of final differential in the trained weights */
+    private static final int DISC = 16;
+
+    /** Number of occurrences added to the count of each weight, so that the rare ones move slowly */
+    private static final int COUNT_PRIOR = 10;
+
+    /** Time between two progress reports, in milliseconds */
+    private static final long REPORT_PERIOD = 5000;
+
+    /** Time budget given to a move, the depth limits the search */
+    private static final long NO_TIME_LIMIT = 24L * 3600 * 1000;
+
+    /** Number of games to play, 0 to only fit the positions already in the file */
+    private int games = 1000;
+
+    /** Number of threads playing and fitting */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Search depth of the moves of the games */
+    private int depth = 4;
+
+    /** Number of random moves at the beginning of each game */
+    private int randomPlies = 10;
+
+    /** Seed of the random openings, game i uses seed + i */
+    private long seed = System.currentTimeMillis();
+
+    /** Weight file used by the games, the default weights if null */
+    private String weights;
+
+    /** Positions file, the games are appended to it */
+    private String positions = "positions.bin";
+
+    /** Number of passes over the positions file, 0 to only play */
+    private int epochs = 30;
+
+    /** Step of the regression */
+    private float rate = 2f;
+
+    /** Weight file written */
+    private String out = "../android/assets/" + PatternWeights.FILE;
+
+    /** Index of the next game to play */
+    private final AtomicInteger nextGame = new AtomicInteger();
+
+    /** Number of games played */
+    private final AtomicInteger played = new AtomicInteger();
+
+    /** Number of positions written */
+    private final AtomicLong written = new AtomicLong();
+
+    /** Stream of the positions file, shared by the players */
+    private DataOutputStream output;
+
+    public static void main(String[] args) throws Exception {
+        WeightTrainer trainer = new WeightTrainer();
+        trainer.parseArguments(args);
+        if (trainer.games > 0) {
+            trainer.play();
+        }
+        if (trainer.epochs > 0) {
+            trainer.fit();
+        }
+    }
+
+    /**
+     * Reads the options of the command line
+     * @param args, the arguments given to main
+     */
+    private void parseArguments(String[] args) {
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String name = args[i];
+            String value = args[i + 1];
+            if (name.equals("-games")) {
+                games = Integer.parseInt(value);
+            } else if (name.equals("-threads")) {
+                threads = Integer.parseInt(value);
+            } else if (name.equals("-depth")) {
+                depth = Integer.parseInt(value);
+            } else if (name.equals("-random")) {
+                randomPlies = Integer.parseInt(value);
+            } else if (name.equals("-seed")) {
+                seed = Long.parseLong(value);
+            } else if (name.equals("-weights")) {
+                weights = value;
+            } else if (name.equals("-positions")) {
+                positions = value;
+            } else if (name.equals("-epochs")) {
+                epochs = Integer.parseInt(value);
+            } else if (name.equals("-rate")) {
+                rate = Float.parseFloat(value);
+            } else if (name.equals("-out")) {
+                out = value;
+            } else {
+                throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+    }
+
+    /**
+     * Reads a weight file of the format written by fit()
+     * @param path, the path of the file
+     * @return a PatternWeights
+     */
+    static PatternWeights readWeights(String path) throws IOException {
+        return PatternWeights.fromBytes(Files.readAllBytes(new File(path).toPath()));
+    }
+
+    /**
+     * Plays the games and appends their positions to the positions file
+     */
+    private void play() throws IOException, InterruptedException {
+        System.out.println("Playing " + games + " games on " + threads + " threads, depth " + depth
+                + ", " + randomPlies + " random plies");
+        final PatternWeights gameWeights = (weights != null) ? readWeights(weights) : PatternWeights.defaults();
+        output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(positions, true)));
+        long start = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        playGames(gameWeights);
+                    } catch (IOException e) {
+                        throw new RuntimeException(e);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        while (!executor.awaitTermination(REPORT_PERIOD, TimeUnit.MILLISECONDS)) {
+            report(start);
+        }
+        output.close();
+        report(start);
+    }
+
+    /**
+     * Plays games until all of them are taken, run by each thread with its own engine
+     * The positions of a game are written together once it is over
+     * @param gameWeights, the weights of the engine
+     */
+    private void playGames(PatternWeights gameWeights) throws IOException {
+        Search search = new Search();
+        search.setWeights(gameWeights);
+        long[] blacks = new long[2 * 64];
+        long[] whites = new long[2 * 64];
+        byte[] players = new byte[2 * 64];
+        int game;
+        while ((game = nextGame.getAndIncrement()) < games) {
+            Board board = new Board(BitBoard.SIZE, true, null);
+            Random random = new Random(seed + game);
+            int count = 0;
+            int ply = 0;
+
+            while (true) {
+                int player = board.getPlayerTurn();
+                int opponent = (player == 1) ? 2 : 1;
+                long p = board.getDiscs(player);
+                long o = board.getDiscs(opponent);
+                long legal = BitBoard.legalMoves(p, o);
+                if (legal == 0) {
+                    if (BitBoard.legalMoves(o, p) == 0) {
+                        break;
+                    }
+                    board.makeMove(Board.PASS);
+                    continue;
+                }
+
+                int move;
+                if (ply < randomPlies) {
+                    for (int i = random.nextInt(Long.bitCount(legal)); i > 0; i--) {
+                        legal &= legal - 1;
+                    }
+                    move = Long.numberOfTrailingZeros(legal);
+                } else {
+                    //The random moves are not recorded, they are not worth learning from
+                    blacks[count] = board.getDiscs(1);
+                    whites[count] = board.getDiscs(2);
+                    players[count++] = (byte) player;
+                    move = search.findBestMove(p, o, player, depth, NO_TIME_LIMIT);
+                }
+                board.makeMove(move);
+                ply++;
+            }
+
+            byte diff = (byte) (board.getScore(1) - board.getScore(2));
+            synchronized (output) {
+                for (int i = 0; i < count; i++) {
+                    output.writeLong(blacks[i]);
+                    output.writeLong(whites[i]);
+                    output.writeByte(players[i]);
+                    output.writeByte(diff);
+                }
+            }
+            written.addAndGet(count);
+            played.incrementAndGet();
+        }
+    }
+
+    /**
+     * Prints the number of games and positions of the play phase
+     * @param start, the time at which the games started, in milliseconds
+     */
+    private void report(long start) {
+        double seconds = Math.max(1, System.currentTimeMillis() - start) / 1000.0;
+        System.out.println(String.format("%d games  %.1f games/s  %d positions",
+                played.get(), played.get() / seconds, written.get()));
+    }
+
+    /**
+     * Fits the weights to the positions file and writes the weight file
+     * Each epoch, every thread reads its part of the file and sums the gradient of the squared
+     * error of its positions, then each weight moves by the sum of the gradients divided by its
+     * number of occurrences and by the number of features of a position
+     */
+    private void fit() throws Exception {
+        File file = new File(positions);
+        final long records = file.length() / RECORD_SIZE;
+        if (records == 0) {
+            System.out.println("No position in " + positions);
+            return;
+        }
+        System.out.println("Fitting " + records + " positions on " + threads + " threads");
+
+        final int size = PatternEvaluation.PHASES * PatternEvaluation.TABLE_SIZE;
+        final float[] tables = new float[size];
+        final float[] mobility = new float[PatternEvaluation.PHASES];
+        final float[] parity = new float[PatternEvaluation.PHASES];
+        final Gradient[] gradients = new Gradient[threads];
+        for (int t = 0; t < threads; t++) {
+            gradients[t] = new Gradient(size);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int epoch = 0; epoch < epochs; epoch++) {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+                final Gradient gradient = gradients[t];
+                final long first = records * t / threads;
+                final long last = records * (t + 1) / threads;
+                futures[t] = executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            gradient.compute(positions, first, last, tables, mobility, parity);
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            //Sum the gradients of the threads and move each weight, all the features of a position
+            //share the correction of its error
+            float step = rate / (PatternEvaluation.getInstanceCount() + 2);
+            for (int i = 0; i < size; i++) {
+                double sum = 0;
+                int count = COUNT_PRIOR;
+                for (Gradient gradient : gradients) {
+                    sum += gradient.tables[i];
+                    count += gradient.counts[i];
+                }
+                tables[i] += step * sum / count;
+            }
+            for (int phase = 0; phase < PatternEvaluation.PHASES; phase++) {
+                double mobilitySum = 0;
+                double mobilityNorm = COUNT_PRIOR;
+                double paritySum = 0;
+                int parityCount = COUNT_PRIOR;
+                for (Gradient gradient : gradients) {
+                    mobilitySum += gradient.mobility[phase];
+                    mobilityNorm += gradient.mobilityNorms[phase];
+                    paritySum += gradient.parity[phase];
+                    parityCount += gradient.parityCounts[phase];
+                }
+                mobility[phase] += step * mobilitySum / mobilityNorm;
+                parity[phase] += step * paritySum / parityCount;
+            }
+            double squaredError = 0;
+            for (Gradient gradient : gradients) {
+                squaredError += gradient.squaredError;
+            }
+            System.out.println(String.format("epoch %2d : error %.2f discs",
+                    epoch, Math.sqrt(squaredError / records) / DISC));
+        }
+        executor.shutdown();
+
+        short[][] shortTables = new short[PatternEvaluation.PHASES][PatternEvaluation.TABLE_SIZE];
+        short[] shortMobility = new short[PatternEvaluation.PHASES];
+        short[] shortParity = new short[PatternEvaluation.PHASES];
+        for (int phase = 0; phase < PatternEvaluation.PHASES; phase++) {
+            for (int i = 0; i < PatternEvaluation.TABLE_SIZE; i++) {
+                shortTables[phase][i] = toShort(tables[phase * PatternEvaluation.TABLE_SIZE + i]);
+            }
+            shortMobility[phase] = toShort(mobility[phase]);
+            shortParity[phase] = toShort(parity[phase]);
+        }
+        byte[] data = new PatternWeights(shortTables, shortMobility, shortParity).toBytes();
+        FileOutputStream stream = new FileOutputStream(out);
+        try {
+            stream.write(data);
+        } finally {
+            stream.close();
+        }
+        System.out.println("Wrote " + out);
+    }
+
+    /**
+     * @return the weight rounded and clamped to the range of a short
+     */
+    private static short toShort(float weight) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(weight)));
+    }
+
+    /**
+     * Gradient of the squared error over a part of the positions file, one per thread
+     */
+    private static class Gradient {
+
+        /** Sum of the gradients of each weight of the tables, all the phases one after the other */
+        private final double[] tables;
+
+        /** Number of occurrences of each weight of the tables */
+        private final int[] counts;
+
+        /** Sum of the gradients of the mobility weight of each phase */
+        private final double[] mobility = new double[PatternEvaluation.PHASES];
+
+        /** Sum of the squared mobility differentials of each phase, to scale the mobility step */
+        private final double[] mobilityNorms = new double[PatternEvaluation.PHASES];
+
+        /** Sum of the gradients of the parity weight of each phase */
+        private final double[] parity = new double[PatternEvaluation.PHASES];
+
+        /** Number of positions of each phase with an odd number of empty cells */
+        private final int[] parityCounts = new int[PatternEvaluation.PHASES];
+
+        /** Sum of the squared errors of the positions */
+        private double squaredError;
+
+        /** Evaluation used to compute the features, its weights are not used */
+        private final PatternEvaluation evaluation = new PatternEvaluation(PatternWeights.defaults());
+
+        /** Table index of each instance of the current position */
+        private final int[] features = new int[PatternEvaluation.getInstanceCount()];
+
+        /**
+         * @param size, the number of weights of the tables of all the phases
+         */
+        Gradient(int size) {
+            tables = new double[size];
+            counts = new int[size];
+        }
+
+        /**
+         * Sums the gradients of the positions of the records [first, last) with the current weights
+         */
+        void compute(String path, long first, long last, float[] weights, float[] mobilityWeights,
+                     float[] parityWeights) throws IOException {
+            Arrays.fill(tables, 0);
+            Arrays.fill(counts, 0);
+            Arrays.fill(mobility, 0);
+            Arrays.fill(mobilityNorms, 0);
+            Arrays.fill(parity, 0);
+            Arrays.fill(parityCounts, 0);
+            squaredError = 0;
+
+            InputStream file = new FileInputStream(path);
+            DataInputStream input = new DataInputStream(new BufferedInputStream(file, 1 << 16));
+            try {
+                long skip = first * RECORD_SIZE;
+                while (skip > 0) {
+                    skip -= input.skip(skip);
+                }
+                for (long record = first; record < last; record++) {
+                    long black = input.readLong();
+                    long white = input.readLong();
+                    int player = input.readByte();
+                    int diff = input.readByte();
+                    add(black, white, player, diff, weights, mobilityWeights, parityWeights);
+                }
+            } finally {
+                input.close();
+            }
+        }
+
+        /**
+         * Adds the gradient of one position
+         */
+        private void add(long black, long white, int player, int diff, float[] weights,
+                         float[] mobilityWeights, float[] parityWeights) {
+            long p = (player == 1) ? black : white;
+            long o = (player == 1) ? white : black;
+            int empties = 64 - Long.bitCount(black | white);
+            int phase = PatternEvaluation.phase(64 - empties);
+            int offset = phase * PatternEvaluation.TABLE_SIZE;
+            int sign = (player == 1) ? 1 : -1;
+            int mobilityDiff = BitBoard.mobility(p, o) - BitBoard.mobility(o, p);
+            int odd = empties & 1;
+
+            //Prediction and target from the point of view of the active player, the tables for black
+            evaluation.setPosition(black, white);
+            float tableSum = 0;
+            for (int i = 0; i < features.length; i++) {
+                features[i] = offset + evaluation.getFeature(i);
+                tableSum += weights[features[i]];
+            }
+            float prediction = sign * tableSum + mobilityWeights[phase] * mobilityDiff
+                    + parityWeights[phase] * odd;
+            float error = sign * diff * DISC - prediction;
+            squaredError += error * error;
+
+            for (int feature : features) {
+                tables[feature] += sign * error;
+                counts[feature]++;
+            }
+            mobility[phase] += error * mobilityDiff;
+            mobilityNorms[phase] += mobilityDiff * mobilityDiff;
+            parity[phase] += error * odd;
+            parityCounts[phase] += odd;
+        }
+    }
+}